@@ -14,6 +14,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -31,8 +32,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String userId = jwtUtil.getUserIdFromToken(token);
+            // 파싱과 서명 검증은 verify 한 번으로 끝낸다.
+            Optional<VerifiedToken> verified = jwtUtil.verify(token);
+            if (verified.isPresent()) {
+                String userId = verified.get().userId();
 
                 // UserDetails 객체 생성
                 UserDetails userDetails = User.builder()
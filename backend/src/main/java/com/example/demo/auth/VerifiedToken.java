@@ -0,0 +1,14 @@
+package com.example.demo.auth;
+
+/**
+ * 서명과 만료 검증을 통과한 토큰의 내용.
+ *
+ * @param userId          토큰의 subject
+ * @param expiresAtMillis 토큰의 exp (epoch millis)
+ */
+public record VerifiedToken(String userId, long expiresAtMillis) {
+
+    public long remainingMillis(long nowMillis) {
+        return Math.max(0L, expiresAtMillis - nowMillis);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.cache;
+
+import com.example.demo.util.AcceptEncoding;
+
+/**
+ * 직렬화가 끝난 피드 페이지. gzip/deflate 는 캐시에 채울 때 한 번만 압축한 본문이며,
+ * 압축 기준 크기보다 작거나 캐시 대상이 아닌 페이지면 둘 다 null 이다.
+ * deflate 는 HTTP 의 "deflate" 인코딩대로 zlib 형식(RFC 1950)이다.
+ */
+public record FeedPage(byte[] json, byte[] gzip, byte[] deflate) {
+
+    /**
+     * @param encoding AcceptEncoding.negotiate 결과
+     * @return 해당 인코딩으로 압축해 둔 본문, 없으면 null
+     */
+    public byte[] encoded(String encoding) {
+        if (encoding == null) {
+            return null;
+        }
+        return encoding.equals(AcceptEncoding.GZIP) ? gzip : deflate;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /api/posts 앞쪽 페이지 캐시. 엔티티/DTO 그래프 대신 직렬화가 끝난 JSON 바이트와
+ * 그 gzip/deflate 압축본을 함께 보관해, 요청마다 다시 압축하지 않는다.
+ * 게시글 작성/수정/삭제가 커밋되면 전체를 무효화하고, 그 밖의 변경(댓글 수, 작성자 이름 등)은 TTL 만큼만 늦게 반영된다.
+ */
+@Component
+public class FeedPageCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<PageKey, FeedPage> cache;
+    private final int cachedPages;
+    private final long compressionThreshold;
+
+    // 무효화 세대. 무효화 직전에 시작된 로드가 끝나면서 옛 데이터를 넣더라도 이전 세대 키라서 다시 읽히지 않는다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public FeedPageCache(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${post.feed-cache.pages:3}") int cachedPages,
+                         @Value("${post.feed-cache.ttl:PT30S}") Duration ttl,
+                         @Value("${server.compression.min-response-size:2KB}") DataSize compressionThreshold) {
+        this.objectMapper = objectMapper;
+        this.cachedPages = cachedPages;
+        this.compressionThreshold = compressionThreshold.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(256)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post.feed");
+    }
+
+    /**
+     * 캐시 대상 페이지면 캐시된 JSON(과 압축본)을, 아니면 loader 결과를 바로 직렬화해 반환한다.
+     * 캐시 대상이 아닌 페이지는 압축하지 않고 서버 응답 압축(server.compression)에 맡긴다.
+     * size 는 호출자가 최대 페이지 크기로 맞춘 값이어야 한다
+     * (size 값을 바꿔 가며 요청해 캐시를 채우거나 큰 페이지를 읽게 하지 못하도록).
+     * @param loader (page, size) -> 응답 본문
+     */
+    public FeedPage get(int page, int size, BiFunction<Integer, Integer, ?> loader) {
+        if (page < 0 || page >= cachedPages) {
+            return new FeedPage(serialize(loader.apply(page, size)), null, null);
+        }
+        return cache.get(new PageKey(generation.get(), page, size), key -> {
+            byte[] json = serialize(loader.apply(page, size));
+            if (json.length < compressionThreshold) {
+                return new FeedPage(json, null, null);
+            }
+            return new FeedPage(json, gzip(json), deflate(json));
+        });
+    }
+
+    public void invalidateAfterCommit() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        });
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("피드 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // HTTP "deflate" 는 zlib 헤더가 붙은 형식이므로 Deflater 기본(nowrap=false) 그대로 쓴다
+    private static byte[] deflate(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record PageKey(long generation, int page, int size) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.PostResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 게시글 상세(PostResponseDto) 프로세스 내 캐시.
+ * Caffeine(W-TinyLFU)으로 개수와 TTL 을 제한하고, 같은 id 에 대한 동시 미스는 로더를 한 번만 실행한다.
+ * 수정/삭제 시에는 트랜잭션 커밋 이후에 무효화해서 커밋 전 값이 다시 캐시되지 않게 한다.
+ */
+@Component
+public class PostDetailCache {
+
+    private final Cache<Long, PostResponseDto> cache;
+
+    public PostDetailCache(MeterRegistry meterRegistry,
+                           @Value("${post.cache.max-size:10000}") long maxSize,
+                           @Value("${post.cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.load.duration, cache.evictions 등
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post.detail");
+    }
+
+    public PostResponseDto get(Long postId, Function<Long, PostResponseDto> loader) {
+        return cache.get(postId, loader);
+    }
+
+    public void evictAfterCommit(Long postId) {
+        AfterCommit.run(() -> cache.invalidate(postId));
+    }
+}
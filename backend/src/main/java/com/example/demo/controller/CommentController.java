@@ -1,13 +1,22 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BulkCommentRequestDto;
+import com.example.demo.dto.BulkResultDto;
 import com.example.demo.dto.CommentRequestDto;
 import com.example.demo.dto.CommentResponseDto;
+import com.example.demo.dto.CursorSliceDto;
+import com.example.demo.service.BulkImportService;
 import com.example.demo.service.CommentService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,9 +24,13 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, BulkImportService bulkImportService, ObjectMapper objectMapper) {
         this.commentService = commentService;
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/posts/{postId}/comments")
@@ -25,6 +38,29 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getCommentsByPost(postId));
     }
 
+    // 대댓글을 children 으로 중첩한 트리 형태
+    @GetMapping("/posts/{postId}/comments/tree")
+    public ResponseEntity<List<CommentResponseDto>> getCommentTree(@PathVariable Long postId) {
+        return ResponseEntity.ok(commentService.getCommentTree(postId));
+    }
+
+    // 루트 댓글 커서 페이지 (각 루트의 replyCount 포함)
+    @GetMapping("/posts/{postId}/comments/page")
+    public ResponseEntity<CursorSliceDto<CommentResponseDto>> getRootComments(@PathVariable Long postId,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getRootComments(postId, cursor, size));
+    }
+
+    // 답글 더 보기
+    @GetMapping("/posts/{postId}/comments/{commentId}/replies")
+    public ResponseEntity<CursorSliceDto<CommentResponseDto>> getReplies(@PathVariable Long postId,
+                                                                         @PathVariable Long commentId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getReplies(postId, commentId, cursor, size));
+    }
+
     @PostMapping("/posts/{postId}/comments")
     public ResponseEntity<CommentResponseDto> createComment(@AuthenticationPrincipal UserDetails userDetails,
                                                             @PathVariable Long postId,
@@ -32,6 +68,16 @@ public class CommentController {
         return ResponseEntity.ok(commentService.createComment(userDetails.getUsername(), postId, requestDto));
     }
 
+    // 일괄 작성: JSON 배열 또는 NDJSON (한 줄에 댓글 하나). 항목마다 postId(와 parentId)를 지정하며 여러 게시글에 걸쳐도 된다.
+    @PostMapping(value = "/comments/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDto> importComments(@AuthenticationPrincipal UserDetails userDetails,
+                                                        HttpServletRequest request) throws IOException {
+        try (MappingIterator<BulkCommentRequestDto> items = objectMapper.readerFor(BulkCommentRequestDto.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(bulkImportService.importComments(userDetails.getUsername(), items));
+        }
+    }
+
     @PutMapping("/comments/{commentId}")
     public ResponseEntity<CommentResponseDto> updateComment(@AuthenticationPrincipal UserDetails userDetails,
                                                             @PathVariable Long commentId,
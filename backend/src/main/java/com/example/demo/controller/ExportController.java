@@ -0,0 +1,90 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.ExportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 분석용 NDJSON 내보내기. 본문은 요청 스레드가 아닌 내보내기 전용 스레드에서 커서를 읽는 대로 쓴다.
+ * 중간에 끊기면 마지막으로 받은 게시글 줄의 id 를 afterId 로 넘겨 이어서 받는다.
+ * - 전용 풀은 max-concurrent 개까지만 동시에 실행하고 대기 큐가 없어, 넘치면 바로 503 으로 응답한다.
+ *   (공용 applicationTaskExecutor 를 긴 내보내기가 모두 차지하지 않게 한다)
+ * - 긴 비동기 타임아웃(export.timeout)은 이 엔드포인트에만 적용한다.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final ThreadPoolExecutor executor;
+    private final TaskExecutorAdapter taskExecutor;
+    private final long timeoutMillis;
+
+    public ExportController(ExportService exportService,
+                            @Value("${export.max-concurrent:4}") int maxConcurrent,
+                            @Value("${export.timeout:PT1H}") Duration timeout) {
+        this.exportService = exportService;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                0, maxConcurrent,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.taskExecutor = new TaskExecutorAdapter(executor);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @GetMapping("/posts")
+    public WebAsyncTask<Void> exportPosts(@RequestParam(required = false) Long afterId,
+                                          @RequestParam(defaultValue = "false") boolean includeComments,
+                                          HttpServletResponse response) {
+        return stream(response, out -> exportService.writePosts(out, afterId, includeComments));
+    }
+
+    // 관리용 전체 사용자 목록 (id, userId, name). 페이지 목록은 GET /api/users
+    @GetMapping("/users")
+    public WebAsyncTask<Void> exportUsers(@RequestParam(required = false) Long afterId,
+                                          HttpServletResponse response) {
+        return stream(response, out -> exportService.writeUsers(out, afterId));
+    }
+
+    private WebAsyncTask<Void> stream(HttpServletResponse response, ExportWriter writer) {
+        return new WebAsyncTask<>(timeoutMillis, taskExecutor, () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            writer.write(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,23 +1,29 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.ChunkedUploadInitRequestDto;
+import com.example.demo.dto.ChunkedUploadStatusDto;
+import com.example.demo.exception.StoredFileNotFoundException;
+import com.example.demo.service.ChunkedUploadService;
+import com.example.demo.service.FileDownloadService;
+import com.example.demo.service.FileMetadata;
 import com.example.demo.service.FileStorageService;
+import com.example.demo.service.ImageVariantService;
+import com.example.demo.service.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/files")
@@ -25,11 +31,87 @@ import java.util.Map;
 public class FileController {
 
     private final FileStorageService fileStorageService;
+    private final FileDownloadService fileDownloadService;
+    private final ImageVariantService imageVariantService;
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Value("${file.stream.max-file-size:100MB}")
+    private DataSize streamMaxFileSize;
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
-        String fileName = fileStorageService.storeFile(file);
+    public ResponseEntity<Map<String, String>> uploadFile(@AuthenticationPrincipal UserDetails userDetails,
+                                                          @RequestParam("file") MultipartFile file) {
+        String fileName = fileStorageService.storeFile(file, userDetails.getUsername());
+        imageVariantService.generateAsync(fileName);
+        return ResponseEntity.ok(uploadResponse(fileName, file.getContentType(), file.getSize()));
+    }
+
+    /**
+     * multipart 없이 요청 본문을 그대로 저장하는 업로드 (서블릿 임시 파일 복사 없음).
+     * 파일명은 name 파라미터로 받고, 형식은 본문 매직 바이트로 판별한다.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<Map<String, String>> uploadStream(@AuthenticationPrincipal UserDetails userDetails,
+                                                            @RequestParam(value = "name", required = false) String name,
+                                                            HttpServletRequest request) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > streamMaxFileSize.toBytes()) {
+            throw new IllegalArgumentException("파일 크기가 제한을 넘었습니다: " + streamMaxFileSize);
+        }
+        StoredFile stored = fileStorageService.store(request.getInputStream(), name,
+                streamMaxFileSize.toBytes(), userDetails.getUsername());
+        imageVariantService.generateAsync(stored.fileName());
+        return ResponseEntity.ok(uploadResponse(stored.fileName(), stored.contentType(), stored.size()));
+    }
 
+    /**
+     * 분할 업로드 시작. 전체 크기만큼 임시 파일을 미리 잡고 업로드 id 와 조각 크기를 돌려준다.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ChunkedUploadStatusDto> initChunkedUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                                    @RequestBody ChunkedUploadInitRequestDto requestDto) {
+        return ResponseEntity.ok(chunkedUploadService.init(userDetails.getUsername(),
+                requestDto.getFileName(), requestDto.getTotalSize(), requestDto.getChunkSize()));
+    }
+
+    /**
+     * 조각 업로드. 본문은 조각 바이트 그대로(application/octet-stream), X-Chunk-SHA256 헤더로 체크섬을 보낸다.
+     */
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<ChunkedUploadStatusDto> uploadChunk(@AuthenticationPrincipal UserDetails userDetails,
+                                                              @PathVariable String uploadId,
+                                                              @PathVariable int index,
+                                                              @RequestHeader("X-Chunk-SHA256") String sha256,
+                                                              HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.writeChunk(userDetails.getUsername(),
+                uploadId, index, sha256, request.getInputStream()));
+    }
+
+    /**
+     * 이어받기용 상태 조회 (빠진 조각 목록).
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ChunkedUploadStatusDto> chunkedUploadStatus(@AuthenticationPrincipal UserDetails userDetails,
+                                                                      @PathVariable String uploadId) {
+        return ResponseEntity.ok(chunkedUploadService.status(userDetails.getUsername(), uploadId));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<Map<String, String>> completeChunkedUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                                     @PathVariable String uploadId) {
+        StoredFile stored = chunkedUploadService.complete(userDetails.getUsername(), uploadId);
+        imageVariantService.generateAsync(stored.fileName());
+        return ResponseEntity.ok(uploadResponse(stored.fileName(), stored.contentType(), stored.size()));
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortChunkedUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                   @PathVariable String uploadId) {
+        chunkedUploadService.abort(userDetails.getUsername(), uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, String> uploadResponse(String fileName, String contentType, long size) {
         String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/api/files/")
                 .path(fileName)
@@ -38,41 +120,56 @@ public class FileController {
         Map<String, String> response = new HashMap<>();
         response.put("fileName", fileName);
         response.put("fileUrl", fileDownloadUri);
-        response.put("fileType", file.getContentType());
-        response.put("size", String.valueOf(file.getSize()));
-
-        return ResponseEntity.ok(response);
+        response.put("fileType", contentType);
+        response.put("size", String.valueOf(size));
+        return response;
     }
 
+    /**
+     * w 를 주면 요청 너비 이상인 가장 작은 축소본을 보낸다. 축소본이 아직 없으면 원본을 보낸다.
+     * 원본이 그 축소본보다 좁아 축소본이 만들어지지 않는 경우는 원본이 최종 응답이므로 고정 캐시로 보낸다.
+     */
     @GetMapping("/{fileName:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName) {
-        try {
-            Path filePath = fileStorageService.getFileStorageLocation().resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                String contentType = "application/octet-stream";
-                try {
-                    contentType = Files.probeContentType(filePath);
-                } catch (IOException ex) {
-                    // 기본 content type 사용
-                }
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-            } else {
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
+    public void downloadFile(@PathVariable String fileName,
+                             @RequestParam(value = "w", required = false) Integer width,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        // 형식/크기/해시는 업로드 때 기록한 메타데이터 캐시에서 읽는다 (파일시스템 조회 없음)
+        FileMetadata original = fileStorageService.metadata(fileName);
+        if (original == null) {
+            throw new StoredFileNotFoundException("파일을 찾을 수 없습니다: " + fileName);
+        }
+        if (width != null) {
+            String variant = imageVariantService.variantFor(fileName, width, original.width());
+            FileMetadata resized = variant != null ? fileStorageService.metadata(variant) : null;
+            if (resized != null) {
+                serve(resized, true, request, response);
+                return;
             }
-        } catch (MalformedURLException ex) {
-            throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName, ex);
+            // 원본으로 대신 응답하되, 축소본이 생기면 받아 가도록 캐시를 고정하지 않는다
+            serve(original, variant == null, request, response);
+            return;
         }
+        serve(original, true, request, response);
+    }
+
+    private void serve(FileMetadata metadata, boolean immutable,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        fileDownloadService.serve(request, response, metadata.path(), metadata.fileName(),
+                metadata.contentType(),
+                metadata.contentHash(),
+                metadata.size(),
+                metadata.lastModified(),
+                immutable);
     }
 
+    /**
+     * 자기가 올린 참조만 지울 수 있다. 같은 내용을 다른 사용자도 올렸다면 파일은 남는다.
+     */
     @DeleteMapping("/{fileName:.+}")
-    public ResponseEntity<Map<String, String>> deleteFile(@PathVariable String fileName) {
-        fileStorageService.deleteFile(fileName);
+    public ResponseEntity<Map<String, String>> deleteFile(@AuthenticationPrincipal UserDetails userDetails,
+                                                          @PathVariable String fileName) {
+        fileStorageService.deleteFile(userDetails.getUsername(), fileName);
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "파일이 삭제되었습니다.");
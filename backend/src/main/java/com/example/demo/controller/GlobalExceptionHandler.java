@@ -1,10 +1,16 @@
 package com.example.demo.controller;
 
+import com.example.demo.exception.StoredFileNotFoundException;
+import com.example.demo.exception.UploadConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -12,4 +18,30 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException e) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
+
+    // 업로드 파일이 없는 경우
+    @ExceptionHandler(StoredFileNotFoundException.class)
+    public ResponseEntity<String> handleStoredFileNotFoundException(StoredFileNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    // 직접 읽는 요청 본문(일괄 작성 등)의 첫 토큰부터 잘못된 JSON
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<String> handleJsonProcessingException(JsonProcessingException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("잘못된 JSON 입니다: " + e.getOriginalMessage());
+    }
+
+    // 현재 상태에서 할 수 없는 요청 (예: 조각이 다 오지 않은 분할 업로드 완료)
+    @ExceptionHandler(UploadConflictException.class)
+    public ResponseEntity<String> handleUploadConflictException(UploadConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    // 전용 작업 풀의 큐가 가득 찬 경우: 잠시 후 다시 시도하도록 안내한다.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+    }
 }
\ No newline at end of file
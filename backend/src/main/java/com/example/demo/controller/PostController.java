@@ -1,15 +1,26 @@
 package com.example.demo.controller;
 
+import com.example.demo.cache.FeedPage;
+import com.example.demo.cache.FeedPageCache;
+import com.example.demo.dto.BulkResultDto;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.dto.PostRequestDto;
 import com.example.demo.dto.PostResponseDto;
+import com.example.demo.dto.PostSummaryDto;
+import com.example.demo.service.BulkImportService;
 import com.example.demo.service.PostService;
+import com.example.demo.util.AcceptEncoding;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import org.springframework.data.domain.Page;
+import java.io.IOException;
 import org.springframework.data.domain.PageRequest;
 
 @RestController
@@ -17,9 +28,16 @@ import org.springframework.data.domain.PageRequest;
 public class PostController {
 
     private final PostService postService;
+    private final FeedPageCache feedPageCache;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, FeedPageCache feedPageCache,
+                          BulkImportService bulkImportService, ObjectMapper objectMapper) {
         this.postService = postService;
+        this.feedPageCache = feedPageCache;
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -29,6 +47,17 @@ public class PostController {
         return ResponseEntity.ok().build();
     }
 
+    // 일괄 작성: JSON 배열 또는 NDJSON (한 줄에 게시글 하나). 항목별 결과(index, status, id, error)를 요청 순서대로 돌려준다.
+    // 본문을 List 로 바인딩하지 않고 읽는 대로 청크 단위로 저장하므로 max-items 를 넘는 부분은 읽지도 않는다.
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDto> importPosts(@AuthenticationPrincipal UserDetails userDetails,
+                                                     HttpServletRequest request) throws IOException {
+        try (MappingIterator<PostRequestDto> items = objectMapper.readerFor(PostRequestDto.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(bulkImportService.importPosts(userDetails.getUsername(), items));
+        }
+    }
+
     @PutMapping("/{postId}")
     public ResponseEntity<PostResponseDto> updatePost(@AuthenticationPrincipal UserDetails userDetails,
                                                       @PathVariable Long postId,
@@ -51,9 +80,41 @@ public class PostController {
 
 
 
+    // 커서 기반 피드: 깊은 페이지도 첫 페이지와 같은 비용으로 조회한다.
+    @GetMapping("/feed")
+    public ResponseEntity<CursorSliceDto<PostResponseDto>> getFeed(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postService.getFeed(cursor, size));
+    }
+
+    // 요약 피드: 본문 대신 excerpt 만 내려준다. 전체 본문은 GET /api/posts/{postId}.
+    @GetMapping("/feed/summary")
+    public ResponseEntity<CursorSliceDto<PostSummaryDto>> getSummaryFeed(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postService.getSummaryFeed(cursor, size));
+    }
+
+    // 앞쪽 페이지는 직렬화된 JSON 을 캐시에서 그대로 내려준다 (FeedPageCache).
     @GetMapping
-    public ResponseEntity<Page<PostResponseDto>> getAllPosts(@RequestParam(defaultValue = "0") int page,
-                                                             @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(postService.getAllPosts(PageRequest.of(page, size)));
+    public ResponseEntity<byte[]> getAllPosts(@RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "10") int size,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // 캐시 키를 만들기 전에 size 를 맞춘다 (큰 페이지나 size 마다 다른 캐시 항목을 만들지 않도록)
+        FeedPage feedPage = feedPageCache.get(page, PostService.clampFeedSize(size),
+                (p, s) -> postService.getAllPosts(PageRequest.of(p, s)));
+        String encoding = AcceptEncoding.negotiate(acceptEncoding);
+        byte[] encoded = feedPage.encoded(encoding);
+        if (encoded != null) {
+            // 미리 압축한 본문 (gzip 또는 deflate). Content-Encoding 이 있으면 톰캣은 다시 압축하지 않는다.
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, encoding)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(encoded);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(feedPage.json());
     }
 }
@@ -1,12 +1,13 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.dto.UserRequestDto;
 import com.example.demo.dto.UserResponseDto;
 import com.example.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api")
@@ -20,15 +21,15 @@ public class UserController {
         this.userService = userService;
     }
 
+    // BCrypt 작업은 전용 풀에서 처리되고, 그동안 요청 스레드는 반환된다.
     @PostMapping("/login")
-    public UserResponseDto login(@RequestBody UserRequestDto userRequestDto) {
-        return userService.login(userRequestDto);
+    public CompletableFuture<UserResponseDto> login(@RequestBody UserRequestDto userRequestDto) {
+        return userService.loginAsync(userRequestDto);
     }
 
     @PostMapping("/register")
-    public UserResponseDto register(@RequestBody UserRequestDto userRequestDto) {
-        userService.register(userRequestDto);
-        return userService.login(userRequestDto);
+    public CompletableFuture<UserResponseDto> register(@RequestBody UserRequestDto userRequestDto) {
+        return userService.registerAsync(userRequestDto);
     }
 
     @GetMapping("/me")
@@ -36,9 +37,11 @@ public class UserController {
         return userService.findByUserId(userDetails.getUsername());
     }
 
+    // id 키셋 페이지. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다.
     @GetMapping("/users")
-    public List<UserResponseDto> getAllUsers() {
-        return userService.findAll();
+    public CursorSliceDto<UserResponseDto> getUsers(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        return userService.findPage(cursor, size);
     }
 
     @GetMapping("/users/{id}")
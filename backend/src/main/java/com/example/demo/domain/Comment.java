@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,6 +15,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_parent_created_id", columnList = "post_id, parent_id, created_at, id"),
+        // 내보내기에서 게시글 순서대로 댓글을 병합해 읽기 위한 (post_id, id) 순서
+        @Index(name = "idx_comment_post_id", columnList = "post_id, id")
+})
 @Getter
 @Builder
 @NoArgsConstructor
@@ -22,7 +28,7 @@ import java.util.List;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @Column(nullable = false)
@@ -40,6 +46,17 @@ public class Comment {
     @JoinColumn(name = "parent_id")
     private Comment parent; // 대댓글을 위한 부모 댓글
 
+    // parent 프록시를 초기화하지 않고 parent_id 값만 읽기 위한 읽기 전용 매핑
+    @Column(name = "parent_id", insertable = false, updatable = false)
+    private Long parentId;
+
+    // 직계 답글 수. CommentService 가 DB 증감 쿼리로만 갱신한다.
+    // 댓글 수정의 UPDATE 가 읽어 둔 옛 값으로 덮어쓰지 않도록 엔티티 INSERT/UPDATE 에서는 제외한다 (DB 기본값 0).
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long replyCount = 0L;
+
     @OneToMany(mappedBy = "parent", cascade = CascadeType.REMOVE, orphanRemoval = true)
     private List<Comment> children = new ArrayList<>();
 
@@ -0,0 +1,51 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반으로 저장된 업로드 파일 (SHA-256 해시 하나당 디스크 파일 하나).
+ * 같은 내용이 여러 번 업로드되면 refCount 만 늘어나고, 마지막 참조가 삭제될 때 실제 파일을 지운다.
+ */
+@Entity
+@Table(name = "file_blob")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash;
+
+    // 디스크상의 파일명 (해시 + 최초 업로드 확장자)
+    @Column(nullable = false, unique = true)
+    private String fileName;
+
+    @Column(nullable = false)
+    private Long refCount;
+
+    // 업로드 시점에 기록하는 메타데이터 (다운로드 시 파일시스템을 조회하지 않도록)
+    private Long size;
+
+    @Column(length = 100)
+    private String contentType;
+
+    // 이미지 원본 너비. 축소본을 만들 때 기록한다 (이미지가 아니거나 아직 모르면 null).
+    private Integer width;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 업로드 한 번 = 참조 하나. 같은 내용의 파일(FileBlob)을 여러 사용자가 올려도 각자 자기 참조만 지울 수 있다.
+ * FileBlob.refCount 는 이 행의 수와 같게 유지된다.
+ */
+@Entity
+@Table(name = "file_ref", indexes = @Index(name = "idx_file_ref_file_name_owner", columnList = "file_name, owner"))
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileRef {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 업로드한 사용자의 userId
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_post_created_at_id", columnList = "created_at, id"))
 @Getter
 @Builder
 @NoArgsConstructor
@@ -21,8 +23,10 @@ import java.util.List;
 @EntityListeners(AuditingEntityListener.class)
 public class Post {
 
+    public static final int EXCERPT_COLUMN_LENGTH = 512;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @Column(nullable = false)
@@ -31,9 +35,20 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // 피드 목록용 요약. 읽을 때마다 TEXT 를 자르지 않도록 쓰기 시점에 저장한다.
+    @Column(length = EXCERPT_COLUMN_LENGTH)
+    private String excerpt;
+
     @Column
     private String imageUrl;
 
+    // 댓글 수 (답글 포함). CommentService 가 DB 증감 쿼리로만 갱신하고, CommentCountReconciler 가 주기적으로 보정한다.
+    // 게시글 수정의 UPDATE 가 읽어 둔 옛 값으로 덮어쓰지 않도록 엔티티 INSERT/UPDATE 에서는 제외한다 (DB 기본값 0).
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long commentCount = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -53,6 +68,10 @@ public class Post {
         this.content = content;
     }
 
+    public void updateExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
     public void updateImage(String imageUrl) {
         this.imageUrl = imageUrl;
     }
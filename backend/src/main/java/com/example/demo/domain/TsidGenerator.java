@@ -0,0 +1,65 @@
+package com.example.demo.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 53비트 시간순 id 생성기. 프론트엔드(JavaScript Number)에서 정밀도 손실 없이 다룰 수 있도록 2^53 미만으로 만든다.
+ * <pre>
+ * | 41비트: 2024-01-01 부터의 밀리초 (약 69년) | 4비트: 노드 번호 | 8비트: 같은 밀리초 안의 순번 |
+ * </pre>
+ * - 노드 번호는 환경 변수 APP_NODE_ID (0~15, 기본 0) 로 지정한다. 여러 인스턴스를 띄우면 서로 달라야 한다.
+ * - 한 밀리초에 256개를 넘으면 다음 밀리초 값을 미리 당겨 쓰고, 시계가 뒤로 가도 마지막 값보다 작아지지 않는다.
+ */
+public class TsidGenerator implements BeforeExecutionGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long NODE = node();
+
+    // (밀리초 << SEQUENCE_BITS | 순번), 모든 엔티티가 공유한다
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public TsidGenerator(TsidId config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    static long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long millis = next >>> SEQUENCE_BITS;
+        return millis << (NODE_BITS + SEQUENCE_BITS) | NODE << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+    }
+
+    private static long node() {
+        String value = System.getenv("APP_NODE_ID");
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        long node = Long.parseLong(value.trim());
+        if (node < 0 || node >= 1L << NODE_BITS) {
+            throw new IllegalStateException("APP_NODE_ID 는 0~" + ((1L << NODE_BITS) - 1) + " 사이여야 합니다: " + value);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 애플리케이션에서 만드는 시간순 id ({@link TsidGenerator}).
+ * IDENTITY 와 달리 INSERT 전에 id 가 정해지므로 Hibernate 가 INSERT 를 모아 JDBC 배치로 보낼 수 있다.
+ */
+@IdGeneratorType(TsidGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TsidId {
+}
@@ -2,20 +2,30 @@ package com.example.demo.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+// 요청마다 userId 로 작성자를 찾으므로 2차 캐시에 둔다. 이름/비밀번호 변경은 커밋 시 캐시 항목도 갱신된다 (READ_WRITE).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User {
 //    DB 테이블과 1:1로 매칭된다. 아이디(id), 비밀번호(password), 이름(name) 등의 변수를 선언하는 곳이다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
+    // 바뀌지 않는 로그인 아이디. userId -> id 매핑을 natural-id 캐시로 찾는다.
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String userId;
 
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 댓글 작성 항목. 단건 API 와 달리 게시글 id 를 본문에 담는다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCommentRequestDto {
+    private Long postId;
+    private Long parentId; // 대댓글일 경우 부모 댓글 ID, 없으면 null
+    private String content;
+}
@@ -0,0 +1,29 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 작성 항목별 결과. index 는 요청 배열(또는 NDJSON 줄) 안에서의 0 부터 시작하는 순번.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDto {
+
+    public enum Status { CREATED, FAILED }
+
+    private int index;
+    private Status status;
+    private Long id;      // 생성된 게시글/댓글 id, 실패면 null
+    private String error; // 실패 사유, 성공이면 null
+
+    public static BulkItemResultDto created(int index, Long id) {
+        return new BulkItemResultDto(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResultDto failed(int index, String error) {
+        return new BulkItemResultDto(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadInitRequestDto {
+    private String fileName;
+    private long totalSize;
+    private Integer chunkSize; // 생략하면 서버 기본값, 256KB~16MB 범위로 조정된다
+}
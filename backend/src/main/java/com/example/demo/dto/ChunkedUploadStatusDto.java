@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 분할 업로드 상태. 조각 i 는 offset = i * chunkSize 위치에 쓰인다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadStatusDto {
+    private String uploadId;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    private List<Integer> missingChunks; // 아직 받지 못한(또는 검증에 실패한) 조각 번호
+}
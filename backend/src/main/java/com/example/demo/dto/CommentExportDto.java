@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내보내기(NDJSON) 댓글 줄. 속한 게시글 줄 바로 뒤에 나온다.
+ * ExportService 의 생성자 프로젝션에서 직접 생성하므로 필드 순서를 바꾸면 쿼리도 같이 바꿔야 한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentExportDto {
+    private Long id;
+    private Long postId;
+    private Long parentId;
+    private String content;
+    private String authorUserId;
+    private String authorName;
+    private LocalDateTime createdAt;
+
+    public String getType() {
+        return "comment";
+    }
+}
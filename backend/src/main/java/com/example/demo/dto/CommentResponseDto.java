@@ -1,11 +1,14 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Builder
@@ -17,4 +20,36 @@ public class CommentResponseDto {
     private String authorName;
     private Long parentId;
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    // 직계 답글 수. 페이지 조회에서 채워진다 (접힌 스레드에 "답글 N개" 표시용).
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long replyCount;
+
+    // 트리 조회에서만 채워진다. 평면 목록에서는 응답에 포함하지 않는다.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentResponseDto> children;
+
+    // CommentRepository 트리 조회용 생성자 프로젝션
+    public CommentResponseDto(Long id, String content, String authorName, Long parentId, LocalDateTime createdAt) {
+        this(id, content, authorName, parentId, createdAt, null, null);
+    }
+
+    // CommentRepository 페이지 조회용 생성자 프로젝션 (저장된 답글 수 포함)
+    public CommentResponseDto(Long id, String content, String authorName, Long parentId, LocalDateTime createdAt,
+                              Long replyCount) {
+        this(id, content, authorName, parentId, createdAt, replyCount, null);
+    }
+
+    public void addChild(CommentResponseDto child) {
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+        children.add(child);
+    }
+
+    public void initChildren() {
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+    }
+}
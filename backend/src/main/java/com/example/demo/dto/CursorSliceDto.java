@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서 기반 목록 응답. 전체 개수(COUNT)는 계산하지 않는다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSliceDto<T> {
+    private List<T> content;
+    private String nextCursor; // 다음 페이지 요청 시 그대로 전달, 마지막 페이지면 null
+    private boolean hasNext;
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내보내기(NDJSON) 게시글 줄. ExportService 의 생성자 프로젝션에서 직접 생성하므로 필드 순서를 바꾸면 쿼리도 같이 바꿔야 한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostExportDto {
+    private Long id;
+    private String title;
+    private String content;
+    private String imageUrl;
+    private String authorUserId;
+    private String authorName;
+    private Long commentCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 게시글 줄과 댓글 줄을 구분하는 값
+    public String getType() {
+        return "post";
+    }
+}
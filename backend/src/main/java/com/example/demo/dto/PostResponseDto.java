@@ -18,5 +18,6 @@ public class PostResponseDto {
     private String imageUrl;
     private String authorUserId;
     private String authorName;
+    private Long commentCount;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
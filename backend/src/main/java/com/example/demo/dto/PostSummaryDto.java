@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 피드 목록용 게시글 요약. 본문(TEXT) 대신 저장된 excerpt 만 담는다.
+ * PostRepository 의 생성자 프로젝션에서 직접 생성하므로 필드 순서를 바꾸면 쿼리도 같이 바꿔야 한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryDto {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String imageUrl;
+    private String authorUserId;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private Long commentCount;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 내보내기(NDJSON) 사용자 줄. 비밀번호/토큰 같은 필드 없이 공개 정보만 담는다.
+ * ExportService 의 생성자 프로젝션에서 직접 생성하므로 필드 순서를 바꾸면 쿼리도 같이 바꿔야 한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportDto {
+    private Long id;
+    private String userId;
+    private String name;
+}
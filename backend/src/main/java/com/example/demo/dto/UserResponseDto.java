@@ -14,4 +14,9 @@ public class UserResponseDto {
     private String userId;
     private String name;
     private String token;
+
+    // UserRepository 목록 조회용 생성자 프로젝션 (엔티티를 읽지 않는다)
+    public UserResponseDto(Long id, String userId, String name) {
+        this(id, userId, name, null);
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class UploadConflictException extends RuntimeException {
+    public UploadConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,93 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.Comment;
+import com.example.demo.dto.CommentResponseDto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostIdOrderByCreatedAtAsc(Long postId);
-}
\ No newline at end of file
+
+    // 트리 조회: 게시글의 모든 댓글을 작성자 이름과 함께 한 번에 읽는다. parent 는 join 없이 parent_id 컬럼만 읽는다.
+    @Query("select new com.example.demo.dto.CommentResponseDto(c.id, c.content, u.name, c.parentId, c.createdAt) " +
+            "from Comment c join c.user u " +
+            "where c.post.id = :postId " +
+            "order by c.createdAt asc, c.id asc")
+    List<CommentResponseDto> findTreeRowsByPostId(@Param("postId") Long postId);
+
+    // 루트 댓글 페이지 (idx_comment_post_parent_created_id 범위 스캔)
+    @Query("select new com.example.demo.dto.CommentResponseDto(c.id, c.content, u.name, c.parentId, c.createdAt, c.replyCount) " +
+            "from Comment c join c.user u " +
+            "where c.post.id = :postId and c.parentId is null " +
+            "order by c.createdAt asc, c.id asc")
+    List<CommentResponseDto> findRootPage(@Param("postId") Long postId, Limit limit);
+
+    @Query("select new com.example.demo.dto.CommentResponseDto(c.id, c.content, u.name, c.parentId, c.createdAt, c.replyCount) " +
+            "from Comment c join c.user u " +
+            "where c.post.id = :postId and c.parentId is null " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) " +
+            "order by c.createdAt asc, c.id asc")
+    List<CommentResponseDto> findRootPageAfter(@Param("postId") Long postId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    // 특정 댓글의 답글 페이지
+    @Query("select new com.example.demo.dto.CommentResponseDto(c.id, c.content, u.name, c.parentId, c.createdAt, c.replyCount) " +
+            "from Comment c join c.user u " +
+            "where c.post.id = :postId and c.parentId = :parentId " +
+            "order by c.createdAt asc, c.id asc")
+    List<CommentResponseDto> findReplyPage(@Param("postId") Long postId, @Param("parentId") Long parentId, Limit limit);
+
+    @Query("select new com.example.demo.dto.CommentResponseDto(c.id, c.content, u.name, c.parentId, c.createdAt, c.replyCount) " +
+            "from Comment c join c.user u " +
+            "where c.post.id = :postId and c.parentId = :parentId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) " +
+            "order by c.createdAt asc, c.id asc")
+    List<CommentResponseDto> findReplyPageAfter(@Param("postId") Long postId,
+                                                @Param("parentId") Long parentId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    // 직계 답글 수를 실제로 센다: [parentId, count] (보정 작업용)
+    @Query("select c.parentId, count(c) from Comment c where c.parentId in :parentIds group by c.parentId")
+    List<Object[]> countRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    // 게시글별 실제 댓글 수: [postId, count] (보정 작업용)
+    @Query("select c.post.id, count(c) from Comment c where c.post.id in :postIds group by c.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("select c.id from Comment c where c.parentId in :parentIds")
+    List<Long> findIdsByParentIdIn(@Param("parentIds") Collection<Long> parentIds);
+
+    @Query("select c.id from Comment c where c.id > :afterId order by c.id asc")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // 보정 중 답글 작성/삭제의 증감 쿼리가 끼어들지 못하게 행 락(FOR UPDATE)을 먼저 잡는다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id, c.replyCount from Comment c where c.id in :ids order by c.id asc")
+    List<Object[]> lockReplyCounts(@Param("ids") Collection<Long> ids);
+
+    // 일괄 댓글 작성 시 부모 댓글 확인: [commentId, postId] (청크마다 IN 쿼리 한 번)
+    @Query("select c.id, c.post.id from Comment c where c.id in :ids")
+    List<Object[]> findPostIdsByIds(@Param("ids") Collection<Long> ids);
+
+    // 답글 수 증감: 엔티티를 읽어 고쳐 쓰지 않고 DB 에서 원자적으로 더한다.
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount + :delta where c.id = :commentId")
+    int adjustReplyCount(@Param("commentId") Long commentId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update Comment c set c.replyCount = :count where c.id = :commentId")
+    int setReplyCount(@Param("commentId") Long commentId, @Param("count") long count);
+}
@@ -0,0 +1,43 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, Long> {
+    Optional<FileBlob> findByHash(String hash);
+
+    Optional<FileBlob> findByFileName(String fileName);
+
+    @Transactional
+    @Modifying
+    @Query("update FileBlob b set b.refCount = b.refCount + 1 where b.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query("update FileBlob b set b.refCount = b.refCount - 1 where b.fileName = :fileName and b.refCount > 0")
+    int decrementRefCount(@Param("fileName") String fileName);
+
+    @Transactional
+    @Modifying
+    @Query("update FileBlob b set b.width = :width where b.fileName = :fileName")
+    int updateWidth(@Param("fileName") String fileName, @Param("width") int width);
+
+    // 참조가 남지 않은 경우에만 삭제된다 (삭제된 행 수 반환)
+    @Transactional
+    @Modifying
+    @Query("delete from FileBlob b where b.fileName = :fileName and b.refCount <= 0")
+    int deleteUnreferenced(@Param("fileName") String fileName);
+
+    // 고아 파일 정리: 참조 수와 관계없이 행을 지운다
+    @Transactional
+    @Modifying
+    @Query("delete from FileBlob b where b.fileName = :fileName")
+    int deleteByFileName(@Param("fileName") String fileName);
+}
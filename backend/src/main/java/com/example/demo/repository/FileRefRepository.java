@@ -0,0 +1,20 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.FileRef;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface FileRefRepository extends JpaRepository<FileRef, Long> {
+    Optional<FileRef> findFirstByOwnerAndFileName(String owner, String fileName);
+
+    // 고아 파일 정리: 파일과 함께 남은 참조를 모두 지운다
+    @Transactional
+    @Modifying
+    @Query("delete from FileRef r where r.fileName = :fileName")
+    int deleteByFileName(@Param("fileName") String fileName);
+}
@@ -1,10 +1,95 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.Post;
+import com.example.demo.dto.PostSummaryDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+    // 목록 조회는 작성자를 함께 fetch join 해서 게시글마다 users 를 다시 조회하지 않는다 (N+1 방지).
+    @EntityGraph(attributePaths = "user")
     Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
-}
\ No newline at end of file
+
+    // 피드 첫 페이지 (idx_post_created_at_id 인덱스 순서 그대로 읽는다)
+    @EntityGraph(attributePaths = "user")
+    List<Post> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    // 피드 다음 페이지: 커서 (createdAt, id) 이후부터 seek, OFFSET/COUNT 없음
+    @EntityGraph(attributePaths = "user")
+    @Query("select p from Post p " +
+            "where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) " +
+            "order by p.createdAt desc, p.id desc")
+    List<Post> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // 상세 조회: 게시글과 작성자를 한 번에 가져온다.
+    @Query("select p from Post p join fetch p.user where p.id = :id")
+    Optional<Post> findWithUserById(@Param("id") Long id);
+
+    // 요약 피드: TEXT 본문을 읽지 않고 필요한 컬럼만 DTO 로 바로 프로젝션한다.
+    @Query("select new com.example.demo.dto.PostSummaryDto(p.id, p.title, p.excerpt, p.imageUrl, u.userId, u.name, p.createdAt, p.commentCount) " +
+            "from Post p join p.user u " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummaries(Limit limit);
+
+    @Query("select new com.example.demo.dto.PostSummaryDto(p.id, p.title, p.excerpt, p.imageUrl, u.userId, u.name, p.createdAt, p.commentCount) " +
+            "from Post p join p.user u " +
+            "where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // excerpt 컬럼 추가 이전에 저장된 게시글 채우기 (PostExcerptBackfill)
+    boolean existsByExcerptIsNull();
+
+    @Query("select p.id, p.content from Post p where p.excerpt is null and p.id > :afterId order by p.id asc")
+    List<Object[]> findMissingExcerpts(@Param("afterId") Long afterId, Limit limit);
+
+    // updatedAt 을 건드리지 않도록 엔티티 대신 쿼리로 excerpt 만 쓴다
+    @Modifying
+    @Query("update Post p set p.excerpt = :excerpt where p.id = :postId and p.excerpt is null")
+    int fillExcerpt(@Param("postId") Long postId, @Param("excerpt") String excerpt);
+
+    // 댓글 수 증감: 엔티티를 읽어 고쳐 쓰지 않고 DB 에서 원자적으로 더한다.
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + :delta where p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // 보정 작업용
+    @Query("select p.id from Post p where p.id > :afterId order by p.id asc")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // 보정 중 댓글 작성/삭제의 증감 쿼리가 끼어들지 못하게 행 락(FOR UPDATE)을 먼저 잡는다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.id, p.commentCount from Post p where p.id in :ids order by p.id asc")
+    List<Object[]> lockCommentCounts(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Post p set p.commentCount = :count where p.id = :postId")
+    int setCommentCount(@Param("postId") Long postId, @Param("count") long count);
+
+    // 일괄 댓글 작성 시 대상 게시글 존재 확인 (청크마다 IN 쿼리 한 번)
+    @Query("select p.id from Post p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // 업로드 파일 GC 의 참조 수집용. 결과를 한 번에 올리지 않고 fetch size 단위로 흘려 읽는다 (트랜잭션 안에서만 사용).
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.imageUrl from Post p where p.imageUrl is not null")
+    Stream<String> streamImageUrls();
+}
@@ -1,12 +1,29 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.User;
+import com.example.demo.dto.UserResponseDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUserId(String userId);
+// findByUserId 는 UserRepositoryCustom (natural-id 캐시 조회)
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByUserId(String userId);
 
+    // 비밀번호 검증용. 2차 캐시를 거치지 않고 DB 에서 읽어, 다른 노드에서 바꾼 비밀번호가 캐시 만료 전에도 반영되게 한다.
+    @Query("select u from User u where u.userId = :userId")
+    Optional<User> findForLoginByUserId(@Param("userId") String userId);
+
+    // 사용자 목록 (id 키셋 페이지). DTO 프로젝션이라 엔티티와 posts 컬렉션 프록시를 만들지 않는다.
+    @Query("select new com.example.demo.dto.UserResponseDto(u.id, u.userId, u.name) from User u order by u.id asc")
+    List<UserResponseDto> findPage(Limit limit);
+
+    @Query("select new com.example.demo.dto.UserResponseDto(u.id, u.userId, u.name) from User u " +
+            "where u.id > :afterId order by u.id asc")
+    List<UserResponseDto> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
 }
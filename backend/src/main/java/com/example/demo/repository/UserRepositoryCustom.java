@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * userId(natural id)로 조회한다. natural-id 캐시와 엔티티 2차 캐시에 있으면 쿼리를 실행하지 않는다.
+     */
+    Optional<User> findByUserId(String userId);
+}
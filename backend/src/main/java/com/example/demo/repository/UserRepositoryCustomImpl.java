@@ -0,0 +1,31 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 파생 쿼리(where user_id = ?)는 항상 DB 로 가므로, Hibernate natural-id 조회로 바꿔 2차 캐시를 쓰게 한다.
+ * 커스텀 프래그먼트에는 Spring Data 가 트랜잭션을 붙이지 않으므로, 트랜잭션 밖에서 불려도
+ * 조회가 끝날 때까지 세션이 열려 있도록 읽기 전용 트랜잭션을 직접 선언한다.
+ */
+@Transactional(readOnly = true)
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUserId(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(userId);
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.demo.service;
+
+import com.example.demo.cache.FeedPageCache;
+import com.example.demo.cache.PostDetailCache;
+import com.example.demo.domain.Comment;
+import com.example.demo.domain.Post;
+import com.example.demo.dto.BulkCommentRequestDto;
+import com.example.demo.dto.BulkItemResultDto;
+import com.example.demo.dto.BulkResultDto;
+import com.example.demo.dto.PostRequestDto;
+import com.example.demo.exception.UserNotFoundException;
+import com.example.demo.repository.CommentRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.Excerpts;
+import com.example.demo.util.LongObjectMap;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 게시글/댓글 일괄 작성 (이관, 관리 도구용). 호출한 사용자가 모든 항목의 작성자가 된다.
+ * - 항목을 chunk-size 개씩 읽어 청크마다 트랜잭션 하나로 저장한다. 한 청크가 실패해도 앞 청크는 커밋된 상태로 남는다.
+ * - 사용자는 요청마다 한 번, 대상 게시글/부모 댓글은 청크마다 IN 쿼리 한 번으로 확인하고 엔티티 대신 참조(getReferenceById)만 쓴다.
+ * - JDBC 배치 크기마다 flush/clear 해서 영속성 컨텍스트가 청크 크기만큼 커지지 않게 한다.
+ * - 댓글 수/답글 수는 청크 단위로 게시글/부모 댓글마다 한 번씩 합산해 증가시킨다.
+ * - 입력은 Iterator 로 받으므로 JSON 배열/NDJSON 을 전체를 메모리에 올리지 않고 흘려 읽을 수 있다.
+ *   읽다가 잘못된 JSON 을 만나면 그 위치를 실패 항목으로 기록하고 멈춘다 (앞 청크는 저장된 채로 결과를 돌려준다).
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final PostService postService;
+    private final PostDetailCache postDetailCache;
+    private final FeedPageCache feedPageCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxItems;
+    private final int flushInterval;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImportService(PostRepository postRepository,
+                             CommentRepository commentRepository,
+                             UserRepository userRepository,
+                             PostService postService,
+                             PostDetailCache postDetailCache,
+                             FeedPageCache feedPageCache,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${bulk.chunk-size:500}") int chunkSize,
+                             @Value("${bulk.max-items:10000}") int maxItems,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int flushInterval) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.postService = postService;
+        this.postDetailCache = postDetailCache;
+        this.feedPageCache = feedPageCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxItems = maxItems;
+        this.flushInterval = Math.max(1, flushInterval);
+    }
+
+    public BulkResultDto importPosts(String userId, Iterator<PostRequestDto> items) {
+        Long authorId = authorId(userId);
+        int excerptLength = postService.getExcerptLength();
+        List<BulkItemResultDto> results = new ArrayList<>();
+
+        readChunks(items, results, chunk -> {
+            // 검증을 통과한 항목만 저장한다: index -> 항목
+            Map<Integer, PostRequestDto> valid = new LinkedHashMap<>();
+            chunk.forEach((index, item) -> {
+                String error = validatePost(item);
+                if (error != null) {
+                    results.add(BulkItemResultDto.failed(index, error));
+                } else {
+                    valid.put(index, item);
+                }
+            });
+            if (valid.isEmpty()) {
+                return;
+            }
+
+            saveChunk(results, valid.keySet(), () -> {
+                List<BulkItemResultDto> created = new ArrayList<>(valid.size());
+                int pending = 0;
+                for (Map.Entry<Integer, PostRequestDto> entry : valid.entrySet()) {
+                    PostRequestDto item = entry.getValue();
+                    Post post = Post.builder()
+                            .title(item.getTitle())
+                            .content(item.getContent())
+                            .excerpt(Excerpts.of(item.getContent(), excerptLength))
+                            .imageUrl(item.getImageUrl())
+                            .user(userRepository.getReferenceById(authorId))
+                            .build();
+                    entityManager.persist(post);
+                    created.add(BulkItemResultDto.created(entry.getKey(), post.getId()));
+                    if (++pending == flushInterval) {
+                        flushAndClear();
+                        pending = 0;
+                    }
+                }
+                flushAndClear();
+                feedPageCache.invalidateAfterCommit();
+                return created;
+            });
+        });
+
+        return toResult(results);
+    }
+
+    public BulkResultDto importComments(String userId, Iterator<BulkCommentRequestDto> items) {
+        Long authorId = authorId(userId);
+        List<BulkItemResultDto> results = new ArrayList<>();
+
+        readChunks(items, results, chunk -> {
+            Set<Long> postIds = new HashSet<>();
+            Set<Long> parentIds = new HashSet<>();
+            for (BulkCommentRequestDto item : chunk.values()) {
+                if (item.getPostId() != null) {
+                    postIds.add(item.getPostId());
+                }
+                if (item.getParentId() != null) {
+                    parentIds.add(item.getParentId());
+                }
+            }
+            Set<Long> existingPosts = postIds.isEmpty() ? Set.of() : new HashSet<>(postRepository.findExistingIds(postIds));
+            LongObjectMap<Long> parentPost = new LongObjectMap<>(parentIds.size());
+            if (!parentIds.isEmpty()) {
+                for (Object[] row : commentRepository.findPostIdsByIds(parentIds)) {
+                    parentPost.put((Long) row[0], (Long) row[1]);
+                }
+            }
+
+            Map<Integer, BulkCommentRequestDto> valid = new LinkedHashMap<>();
+            chunk.forEach((index, item) -> {
+                String error = validateComment(item, existingPosts, parentPost);
+                if (error != null) {
+                    results.add(BulkItemResultDto.failed(index, error));
+                } else {
+                    valid.put(index, item);
+                }
+            });
+            if (valid.isEmpty()) {
+                return;
+            }
+
+            saveChunk(results, valid.keySet(), () -> {
+                List<BulkItemResultDto> created = new ArrayList<>(valid.size());
+                Map<Long, Long> commentDeltas = new LinkedHashMap<>();
+                Map<Long, Long> replyDeltas = new LinkedHashMap<>();
+                int pending = 0;
+                for (Map.Entry<Integer, BulkCommentRequestDto> entry : valid.entrySet()) {
+                    BulkCommentRequestDto item = entry.getValue();
+                    Comment comment = Comment.builder()
+                            .content(item.getContent())
+                            .user(userRepository.getReferenceById(authorId))
+                            .post(postRepository.getReferenceById(item.getPostId()))
+                            .parent(item.getParentId() != null ? commentRepository.getReferenceById(item.getParentId()) : null)
+                            .build();
+                    entityManager.persist(comment);
+                    created.add(BulkItemResultDto.created(entry.getKey(), comment.getId()));
+
+                    commentDeltas.merge(item.getPostId(), 1L, Long::sum);
+                    if (item.getParentId() != null) {
+                        replyDeltas.merge(item.getParentId(), 1L, Long::sum);
+                    }
+                    if (++pending == flushInterval) {
+                        flushAndClear();
+                        pending = 0;
+                    }
+                }
+                flushAndClear();
+
+                // 카운터는 항목마다가 아니라 게시글/부모 댓글마다 한 번씩 합산해 증가시킨다.
+                commentDeltas.forEach((postId, delta) -> {
+                    postRepository.adjustCommentCount(postId, delta);
+                    postDetailCache.evictAfterCommit(postId);
+                });
+                replyDeltas.forEach(commentRepository::adjustReplyCount);
+                return created;
+            });
+        });
+
+        return toResult(results);
+    }
+
+    private Long authorId(String userId) {
+        return userRepository.findByUserId(userId)
+                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."))
+                .getId();
+    }
+
+    /**
+     * 입력을 chunk-size 개씩 읽어 handler 에 넘긴다. max-items 를 넘는 항목은 읽지 않고 실패 하나로 기록한 뒤 멈춘다.
+     * 잘못된 JSON 도 그 위치에 실패 하나를 기록하고 멈춘다. 파서 상태를 믿을 수 없으므로 다음 항목으로 건너뛰지 않는다.
+     */
+    private <T> void readChunks(Iterator<T> items, List<BulkItemResultDto> results, ChunkHandler<T> handler) {
+        Map<Integer, T> chunk = new LinkedHashMap<>();
+        int index = 0;
+        while (true) {
+            T item;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                if (index == maxItems) {
+                    results.add(BulkItemResultDto.failed(index, "한 번에 최대 " + maxItems + "개까지 처리할 수 있습니다."));
+                    break;
+                }
+                item = items.next();
+            } catch (RuntimeException e) {
+                if (!isMalformedInput(e)) {
+                    throw e;
+                }
+                log.warn("일괄 작성 입력 파싱 실패 (index {}): {}", index, e.getMessage());
+                results.add(BulkItemResultDto.failed(index, "잘못된 JSON 입니다. 이 항목부터는 처리하지 않았습니다."));
+                break;
+            }
+            if (item == null) {
+                results.add(BulkItemResultDto.failed(index++, "빈 항목입니다."));
+                continue;
+            }
+            chunk.put(index++, item);
+            if (chunk.size() == chunkSize) {
+                handler.handle(chunk);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.handle(chunk);
+        }
+    }
+
+    /**
+     * 청크 하나를 트랜잭션 하나로 저장한다. DB 오류로 롤백되면 청크의 모든 항목을 실패로 기록하고 다음 청크를 계속한다.
+     */
+    private void saveChunk(List<BulkItemResultDto> results, Set<Integer> indexes,
+                           Supplier<List<BulkItemResultDto>> work) {
+        try {
+            List<BulkItemResultDto> created = transactionTemplate.execute(status -> work.get());
+            if (created != null) {
+                results.addAll(created);
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("일괄 작성 청크 저장 실패 ({}건): {}", indexes.size(), e.getMessage());
+            for (Integer index : indexes) {
+                results.add(BulkItemResultDto.failed(index, "저장에 실패했습니다."));
+            }
+        }
+    }
+
+    // MappingIterator 는 매핑 오류를 RuntimeJsonMappingException 으로, 문법 오류를 RuntimeException(JsonParseException) 으로 던진다
+    private static boolean isMalformedInput(RuntimeException e) {
+        return e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String validatePost(PostRequestDto item) {
+        if (isBlank(item.getTitle())) {
+            return "제목이 비어 있습니다.";
+        }
+        if (isBlank(item.getContent())) {
+            return "내용이 비어 있습니다.";
+        }
+        return null;
+    }
+
+    private static String validateComment(BulkCommentRequestDto item, Set<Long> existingPosts, LongObjectMap<Long> parentPost) {
+        if (isBlank(item.getContent())) {
+            return "내용이 비어 있습니다.";
+        }
+        if (item.getPostId() == null || !existingPosts.contains(item.getPostId())) {
+            return "게시글을 찾을 수 없습니다.";
+        }
+        if (item.getParentId() != null) {
+            Long postId = parentPost.get(item.getParentId());
+            if (postId == null) {
+                return "부모 댓글을 찾을 수 없습니다.";
+            }
+            if (!postId.equals(item.getPostId())) {
+                return "부모 댓글이 다른 게시글에 있습니다.";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static BulkResultDto toResult(List<BulkItemResultDto> results) {
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        int created = 0;
+        for (BulkItemResultDto result : results) {
+            if (result.getStatus() == BulkItemResultDto.Status.CREATED) {
+                created++;
+            }
+        }
+        return new BulkResultDto(created, results.size() - created, results);
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        void handle(Map<Integer, T> chunk);
+    }
+}
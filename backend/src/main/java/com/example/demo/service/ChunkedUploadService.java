@@ -0,0 +1,318 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChunkedUploadStatusDto;
+import com.example.demo.exception.UploadConflictException;
+import com.example.demo.util.DirectBufferPool;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이어받기가 가능한 분할 업로드 (init -> PUT chunk -> complete).
+ * - init 에서 전체 크기만큼 임시 파일을 미리 잡아 두고, 각 조각은 요청 본문을 재사용 direct 버퍼로 읽어
+ *   FileChannel 의 위치 지정 쓰기로 바로 제자리에 쓴다 (조각 전체를 메모리에 올리지 않는다).
+ * - 조각마다 SHA-256 을 받아 검증하고, 받은 조각은 BitSet 으로 기록해 끊긴 뒤에도 빠진 조각만 다시 보내게 한다.
+ * - 같은 조각을 동시에 두 요청이 쓰면 영역이 섞이므로, 쓰는 중인 조각에 대한 요청은 409 로 거부한다.
+ * - 사용자마다 진행 중인 세션 수와 미리 잡은 임시 파일 크기 합계를 제한한다.
+ * - 세션은 메모리에만 있으므로 재시작하면 사라진다. 일정 시간 움직임이 없으면 임시 파일과 함께 정리된다.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final long maxFileSize;
+    private final int defaultChunkSize;
+    private final int maxSessionsPerUser;
+    private final long maxReservedPerUser;
+    private final Cache<String, UploadSession> sessions;
+    // 사용자별 한도 확인과 세션 등록을 한 번에 처리하기 위한 락
+    private final ReentrantLock initLock = new ReentrantLock();
+
+    private final DirectBufferPool bufferPool = new DirectBufferPool(IO_BUFFER_SIZE, 64);
+
+    public ChunkedUploadService(FileStorageService fileStorageService,
+                                @Value("${file.chunked.max-file-size:2GB}") DataSize maxFileSize,
+                                @Value("${file.chunked.chunk-size:5MB}") DataSize defaultChunkSize,
+                                @Value("${file.chunked.session-ttl:PT24H}") Duration sessionTtl,
+                                @Value("${file.chunked.max-sessions-per-user:5}") int maxSessionsPerUser,
+                                @Value("${file.chunked.max-reserved-per-user:4GB}") DataSize maxReservedPerUser) {
+        this.fileStorageService = fileStorageService;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.defaultChunkSize = clampChunkSize(defaultChunkSize.toBytes());
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.maxReservedPerUser = maxReservedPerUser.toBytes();
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(sessionTtl)
+                .removalListener((String id, UploadSession session, RemovalCause cause) -> {
+                    if (session != null && cause != RemovalCause.EXPLICIT) {
+                        session.discard();
+                    }
+                })
+                .build();
+    }
+
+    public ChunkedUploadStatusDto init(String owner, String fileName, long totalSize, Integer chunkSize) {
+        if (totalSize <= 0 || totalSize > maxFileSize) {
+            throw new IllegalArgumentException("파일 크기가 허용 범위를 벗어났습니다: " + totalSize);
+        }
+        int size = chunkSize != null ? clampChunkSize(chunkSize) : defaultChunkSize;
+        initLock.lock();
+        try {
+            checkOwnerLimits(owner, totalSize);
+            Path tempFile = fileStorageService.createTempFile();
+            try (RandomAccessFile file = new RandomAccessFile(tempFile.toFile(), "rw")) {
+                file.setLength(totalSize);
+            }
+            UploadSession session = new UploadSession(UUID.randomUUID().toString(), owner, fileName,
+                    tempFile, totalSize, size);
+            sessions.put(session.id, session);
+            return status(session);
+        } catch (IOException e) {
+            throw new RuntimeException("분할 업로드를 시작할 수 없습니다.", e);
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    private void checkOwnerLimits(String owner, long totalSize) {
+        int count = 0;
+        long reserved = 0;
+        for (UploadSession session : sessions.asMap().values()) {
+            if (session.owner.equals(owner)) {
+                count++;
+                reserved += session.totalSize;
+            }
+        }
+        if (count >= maxSessionsPerUser) {
+            throw new UploadConflictException("진행 중인 분할 업로드가 너무 많습니다. 최대 " + maxSessionsPerUser + "개");
+        }
+        if (reserved + totalSize > maxReservedPerUser) {
+            throw new UploadConflictException("진행 중인 분할 업로드의 전체 크기가 제한을 넘었습니다: " + maxReservedPerUser);
+        }
+    }
+
+    /**
+     * 조각 하나를 제자리에 쓴다. 같은 조각을 다시 보내면 덮어쓴다.
+     * 같은 조각을 쓰는 다른 요청이 아직 진행 중이면 UploadConflictException.
+     * @param sha256 조각 내용의 SHA-256 (hex)
+     */
+    public ChunkedUploadStatusDto writeChunk(String owner, String uploadId, int index, String sha256,
+                                             InputStream body) throws IOException {
+        UploadSession session = session(owner, uploadId);
+        if (index < 0 || index >= session.totalChunks) {
+            throw new IllegalArgumentException("유효하지 않은 조각 번호입니다: " + index);
+        }
+        if (sha256 == null || sha256.isBlank()) {
+            throw new IllegalArgumentException("조각 체크섬이 필요합니다.");
+        }
+        long offset = (long) index * session.chunkSize;
+        long length = Math.min(session.chunkSize, session.totalSize - offset);
+
+        session.beginChunk(index);
+        boolean verified = false;
+        try {
+            String actual = copyTo(body, session.tempFile, offset, length);
+            if (!actual.equalsIgnoreCase(sha256.trim())) {
+                throw new IllegalArgumentException("조각 체크섬이 일치하지 않습니다: " + index);
+            }
+            verified = true;
+        } finally {
+            session.endChunk(index, verified);
+        }
+        return status(session);
+    }
+
+    public ChunkedUploadStatusDto status(String owner, String uploadId) {
+        return status(session(owner, uploadId));
+    }
+
+    /**
+     * 모든 조각을 받았으면 내용 주소 저장소로 넘긴다.
+     */
+    public StoredFile complete(String owner, String uploadId) {
+        UploadSession session = session(owner, uploadId);
+        session.beginComplete();
+        sessions.invalidate(uploadId);
+        return fileStorageService.storeCompletedFile(session.tempFile, session.fileName, session.owner);
+    }
+
+    public void abort(String owner, String uploadId) {
+        UploadSession session = session(owner, uploadId);
+        sessions.invalidate(uploadId);
+        session.discard();
+    }
+
+    private UploadSession session(String owner, String uploadId) {
+        UploadSession session = sessions.getIfPresent(uploadId);
+        if (session == null || !session.owner.equals(owner)) {
+            throw new IllegalArgumentException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * 본문을 정확히 length 바이트만큼 offset 위치에 쓰면서 SHA-256 을 계산한다.
+     */
+    private String copyTo(InputStream body, Path file, long offset, long length) throws IOException {
+        MessageDigest digest = newSha256();
+        ReadableByteChannel source = Channels.newChannel(body);
+        ByteBuffer buffer = bufferPool.acquire();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (written < length) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), length - written));
+                if (source.read(buffer) == -1) {
+                    break;
+                }
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+        } finally {
+            bufferPool.release(buffer);
+        }
+        if (written != length || body.read() != -1) {
+            throw new IllegalArgumentException("조각 크기가 맞지 않습니다. 기대값: " + length);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static ChunkedUploadStatusDto status(UploadSession session) {
+        return new ChunkedUploadStatusDto(session.id, session.totalSize, session.chunkSize,
+                session.totalChunks, session.missingChunks());
+    }
+
+    private static int clampChunkSize(long requested) {
+        return (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, requested));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static final class UploadSession {
+        private final String id;
+        private final String owner;
+        private final String fileName;
+        private final Path tempFile;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // 검증까지 끝난 조각. 쓰는 중인 조각은 비어 있으므로 그동안 complete 는 거부된다.
+        private final BitSet received = new BitSet();
+        // 지금 쓰는 중인 조각
+        private final BitSet writing = new BitSet();
+        private boolean completing;
+
+        private UploadSession(String id, String owner, String fileName, Path tempFile, long totalSize, int chunkSize) {
+            this.id = id;
+            this.owner = owner;
+            this.fileName = fileName;
+            this.tempFile = tempFile;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+        }
+
+        void beginChunk(int index) {
+            lock.lock();
+            try {
+                if (completing) {
+                    throw new UploadConflictException("이미 완료 처리 중인 업로드입니다.");
+                }
+                if (writing.get(index)) {
+                    throw new UploadConflictException("같은 조각을 이미 받는 중입니다: " + index);
+                }
+                writing.set(index);
+                received.clear(index);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void endChunk(int index, boolean verified) {
+            lock.lock();
+            try {
+                writing.clear(index);
+                if (verified) {
+                    received.set(index);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void beginComplete() {
+            lock.lock();
+            try {
+                if (completing) {
+                    throw new UploadConflictException("이미 완료 처리 중인 업로드입니다.");
+                }
+                if (received.cardinality() != totalChunks) {
+                    throw new UploadConflictException("아직 받지 못한 조각이 있습니다.");
+                }
+                completing = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Integer> missingChunks() {
+            lock.lock();
+            try {
+                List<Integer> missing = new ArrayList<>();
+                for (int i = received.nextClearBit(0); i < totalChunks; i = received.nextClearBit(i + 1)) {
+                    missing.add(i);
+                }
+                return missing;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void discard() {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("분할 업로드 임시 파일 삭제 실패: {}", tempFile, e);
+            }
+        }
+    }
+}
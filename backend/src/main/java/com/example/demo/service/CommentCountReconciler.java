@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.CommentRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.util.LongObjectMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Post.commentCount / Comment.replyCount 보정 작업.
+ * 증감 쿼리로 유지되는 카운터가 어긋났을 때(장애, 수동 데이터 수정 등) id 순서대로 배치 단위로 다시 세어
+ * 값이 다른 행만 고친다. 배치마다 별도 트랜잭션이라 긴 락을 잡지 않는다.
+ * - 배치의 카운터 행을 먼저 FOR UPDATE 로 잠근 뒤 센다. 세는 사이에 커밋된 증감이 덮어써지지 않고,
+ *   아직 커밋되지 않은 작성/삭제는 락이 풀린 뒤 보정된 값에 자기 증감을 더한다.
+ */
+@Slf4j
+@Component
+public class CommentCountReconciler {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CommentCountReconciler(PostRepository postRepository,
+                                  CommentRepository commentRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${comment.count.reconcile-batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${comment.count.reconcile-initial-delay:PT10M}",
+            fixedDelayString = "${comment.count.reconcile-interval:PT6H}")
+    public void reconcile() {
+        long posts = reconcilePostCounts();
+        long comments = reconcileReplyCounts();
+        if (posts > 0 || comments > 0) {
+            log.warn("카운터 보정: 게시글 commentCount {}건, 댓글 replyCount {}건", posts, comments);
+        }
+    }
+
+    public long reconcilePostCounts() {
+        long repaired = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = postRepository.findIdsAfter(afterId, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                return repaired;
+            }
+            Integer fixed = transactionTemplate.execute(status -> {
+                List<Object[]> stored = postRepository.lockCommentCounts(ids);
+                LongObjectMap<Long> actual = toMap(commentRepository.countByPostIds(ids), ids.size());
+                int count = 0;
+                for (Object[] row : stored) {
+                    Long postId = (Long) row[0];
+                    long expected = orZero(actual.get(postId));
+                    if (expected != (Long) row[1]) {
+                        postRepository.setCommentCount(postId, expected);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            repaired += fixed != null ? fixed : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    public long reconcileReplyCounts() {
+        long repaired = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = commentRepository.findIdsAfter(afterId, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                return repaired;
+            }
+            Integer fixed = transactionTemplate.execute(status -> {
+                List<Object[]> stored = commentRepository.lockReplyCounts(ids);
+                LongObjectMap<Long> actual = toMap(commentRepository.countRepliesByParentIds(ids), ids.size());
+                int count = 0;
+                for (Object[] row : stored) {
+                    Long commentId = (Long) row[0];
+                    long expected = orZero(actual.get(commentId));
+                    if (expected != (Long) row[1]) {
+                        commentRepository.setReplyCount(commentId, expected);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            repaired += fixed != null ? fixed : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private static LongObjectMap<Long> toMap(List<Object[]> rows, int expectedSize) {
+        LongObjectMap<Long> map = new LongObjectMap<>(expectedSize);
+        for (Object[] row : rows) {
+            map.put((Long) row[0], (Long) row[1]);
+        }
+        return map;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -1,30 +1,41 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.PostDetailCache;
 import com.example.demo.domain.Comment;
 import com.example.demo.domain.Post;
 import com.example.demo.domain.User;
 import com.example.demo.dto.CommentRequestDto;
 import com.example.demo.dto.CommentResponseDto;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.repository.CommentRepository;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.FeedCursor;
+import com.example.demo.util.LongObjectMap;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
 
-    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository,
+                          PostDetailCache postDetailCache) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.postDetailCache = postDetailCache;
     }
 
     @Transactional
@@ -48,6 +59,14 @@ public class CommentService {
                 .build();
 
         commentRepository.save(comment);
+
+        // 카운터는 DB 에서 원자적으로 증가시킨다 (동시 작성 시 read-modify-write 경합 없음).
+        postRepository.adjustCommentCount(post.getId(), 1);
+        if (parent != null) {
+            commentRepository.adjustReplyCount(parent.getId(), 1);
+        }
+        // 상세 캐시의 commentCount 갱신
+        postDetailCache.evictAfterCommit(post.getId());
         return toResponseDto(comment);
     }
 
@@ -73,7 +92,29 @@ public class CommentService {
             throw new IllegalArgumentException("작성자만 삭제할 수 있습니다.");
         }
 
+        // 답글은 cascade 로 함께 삭제되므로 하위 댓글 수까지 게시글 카운터에서 뺀다.
+        long removed = 1 + countDescendants(comment.getId());
+        Long postId = comment.getPost().getId();
+        Long parentId = comment.getParentId();
+
         commentRepository.delete(comment);
+
+        postRepository.adjustCommentCount(postId, -removed);
+        if (parentId != null) {
+            commentRepository.adjustReplyCount(parentId, -1);
+        }
+        postDetailCache.evictAfterCommit(postId);
+    }
+
+    // 하위 댓글 수 (깊이별로 한 번씩 id 만 조회)
+    private long countDescendants(Long commentId) {
+        long count = 0;
+        List<Long> level = List.of(commentId);
+        while (!level.isEmpty()) {
+            level = commentRepository.findIdsByParentIdIn(level);
+            count += level.size();
+        }
+        return count;
     }
 
     @Transactional(readOnly = true)
@@ -83,6 +124,86 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 게시글의 댓글을 한 번의 쿼리로 읽어 중첩된 children 트리로 조립한다.
+     * id -> 노드 맵을 만든 뒤 각 노드를 부모에 붙이는 두 번의 선형 순회로 끝난다.
+     */
+    @Transactional(readOnly = true)
+    public List<CommentResponseDto> getCommentTree(Long postId) {
+        List<CommentResponseDto> rows = commentRepository.findTreeRowsByPostId(postId);
+
+        LongObjectMap<CommentResponseDto> byId = new LongObjectMap<>(rows.size());
+        for (CommentResponseDto row : rows) {
+            row.initChildren();
+            byId.put(row.getId(), row);
+        }
+
+        List<CommentResponseDto> roots = new ArrayList<>();
+        for (CommentResponseDto row : rows) {
+            CommentResponseDto parent = row.getParentId() != null ? byId.get(row.getParentId()) : null;
+            if (parent != null) {
+                parent.addChild(row);
+            } else {
+                roots.add(row);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * 루트 댓글을 커서 페이지로 조회한다. 저장된 답글 수(replyCount)를 함께 내려 접힌 스레드를 그릴 수 있게 한다.
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceDto<CommentResponseDto> getRootComments(Long postId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<CommentResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentRepository.findRootPage(postId, limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            rows = commentRepository.findRootPageAfter(postId, after.createdAt(), after.id(), limit);
+        }
+
+        return toSlice(rows, pageSize);
+    }
+
+    /**
+     * 특정 댓글의 답글을 커서 페이지로 조회한다 ("답글 더 보기").
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceDto<CommentResponseDto> getReplies(Long postId, Long parentId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<CommentResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentRepository.findReplyPage(postId, parentId, limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            rows = commentRepository.findReplyPageAfter(postId, parentId, after.createdAt(), after.id(), limit);
+        }
+
+        return toSlice(rows, pageSize);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static CursorSliceDto<CommentResponseDto> toSlice(List<CommentResponseDto> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<CommentResponseDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            CommentResponseDto last = page.get(page.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorSliceDto<>(List.copyOf(page), nextCursor, hasNext);
+    }
+
     private CommentResponseDto toResponseDto(Comment comment) {
         return CommentResponseDto.builder()
                 .id(comment.getId())
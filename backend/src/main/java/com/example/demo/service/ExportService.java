@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CommentExportDto;
+import com.example.demo.dto.PostExportDto;
+import com.example.demo.dto.UserExportDto;
+import com.example.demo.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 분석용 전체 내보내기 (NDJSON).
+ * - 엔티티 대신 DTO 프로젝션을 forward-only 커서(ScrollableResults)로 fetch-size 행씩 읽어 바로 쓴다.
+ *   영속성 컨텍스트에 아무것도 쌓이지 않으므로 테이블 크기와 무관하게 메모리 사용량이 일정하다.
+ * - 게시글은 id 순으로 내보내고, 댓글을 포함하면 (post_id, id) 순 두 번째 커서를 게시글 커서와 병합해
+ *   각 게시글 줄 바로 뒤에 그 댓글 줄들을 쓴다.
+ * - 마지막으로 받은 게시글 id 를 afterId 로 다시 요청하면 그 다음부터 이어서 받는다.
+ * - 사용자 목록도 같은 방식으로 id 순 (id, userId, name) 만 내보낸다.
+ * - 읽기 전용 트랜잭션 하나에서 실행되므로 내보내는 동안 스냅샷이 일정하다 (MySQL REPEATABLE READ).
+ */
+@Service
+public class ExportService {
+
+    private static final String POSTS_QUERY =
+            "select new com.example.demo.dto.PostExportDto(p.id, p.title, p.content, p.imageUrl, u.userId, u.name, " +
+            "p.commentCount, p.createdAt, p.updatedAt) " +
+            "from Post p join p.user u where p.id > :afterId order by p.id asc";
+
+    private static final String COMMENTS_QUERY =
+            "select new com.example.demo.dto.CommentExportDto(c.id, c.post.id, c.parentId, c.content, u.userId, u.name, c.createdAt) " +
+            "from Comment c join c.user u where c.post.id > :afterId order by c.post.id asc, c.id asc";
+
+    private static final String USERS_QUERY =
+            "select new com.example.demo.dto.UserExportDto(u.id, u.userId, u.name) " +
+            "from User u where u.id > :afterId order by u.id asc";
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(ObjectMapper objectMapper,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @param afterId 이 id 보다 큰 게시글부터 (처음부터면 null)
+     */
+    public void writePosts(OutputStream out, Long afterId, boolean includeComments) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        long after = afterId != null ? afterId : 0L;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                try (ScrollableResults<PostExportDto> posts = scroll(session, POSTS_QUERY, PostExportDto.class, after);
+                     ScrollableResults<CommentExportDto> comments =
+                             includeComments ? scroll(session, COMMENTS_QUERY, CommentExportDto.class, after) : null) {
+                    CommentExportDto pending = next(comments);
+                    while (posts.next()) {
+                        PostExportDto post = posts.get();
+                        writer.write(post);
+                        // 두 커서 모두 post id 순이므로 이 게시글 id 이하인 댓글까지만 앞으로 읽는다.
+                        while (pending != null && pending.getPostId() <= post.getId()) {
+                            if (pending.getPostId().equals(post.getId())) {
+                                writer.write(pending);
+                            }
+                            pending = next(comments);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 끊김 등. 트랜잭션은 이미 롤백(읽기 전용)되었다.
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * @param afterId 이 id 보다 큰 사용자부터 (처음부터면 null)
+     */
+    public void writeUsers(OutputStream out, Long afterId) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        long after = afterId != null ? afterId : 0L;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                try (ScrollableResults<UserExportDto> users = scroll(session, USERS_QUERY, UserExportDto.class, after)) {
+                    while (users.next()) {
+                        writer.write(users.get());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private <T> ScrollableResults<T> scroll(Session session, String hql, Class<T> type, long afterId) {
+        return session.createSelectionQuery(hql, type)
+                .setParameter("afterId", afterId)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private static <T> T next(ScrollableResults<T> results) {
+        return results != null && results.next() ? results.get() : null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 업로드 파일 응답 전송.
+ * - 파일명이 바뀌지 않으므로(업로드 시 새 이름 부여) 1년 immutable 캐시 헤더를 붙인다.
+ * - 내용 해시 기반 강한 ETag 와 Last-Modified 로 조건부 요청(If-None-Match / If-Modified-Since)에 304 로 응답한다.
+ * - 단일/다중 Range 요청에 206 으로 응답한다. 범위 길이 합이 파일 길이를 넘으면(겹치는 범위 반복 등) 전체를 200 으로 보낸다.
+ * - 형식이 잘못된 Range 헤더는 무시하고 전체를 200 으로 보낸다 (RFC 9110). 416 은 시작 위치가 파일 길이를 넘는 범위뿐이다.
+ * - 본문은 톰캣 sendfile 을 쓸 수 있으면 sendfile 로, 아니면 FileChannel.transferTo 로 보낸다.
+ */
+@Service
+public class FileDownloadService {
+
+    static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_CONTROL_REVALIDATE = "public, no-cache";
+
+    // 톰캣 NIO 커넥터의 sendfile 요청 속성
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public void serve(HttpServletRequest request, HttpServletResponse response,
+                      Path file, String fileName, String contentType, String contentHash,
+                      long length, long lastModified) throws IOException {
+        serve(request, response, file, fileName, contentType, contentHash, length, lastModified, true);
+    }
+
+    /**
+     * @param immutable false 면 매번 재검증(no-cache)하게 한다. 축소본 대신 원본을 보낼 때처럼
+     *                  같은 URL 의 응답이 나중에 바뀔 수 있는 경우에 쓴다.
+     */
+    public void serve(HttpServletRequest request, HttpServletResponse response,
+                      Path file, String fileName, String contentType, String contentHash,
+                      long length, long lastModified, boolean immutable) throws IOException {
+        String etag = "\"" + contentHash + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // ETag / Last-Modified 헤더를 설정하고, 조건이 맞으면 304 상태까지 설정한다.
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build().toString());
+
+        List<HttpRange> ranges = parseRanges(request, etag, lastModified, length);
+        if (ranges == null) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            send(request, response, file, 0, length);
+            return;
+        }
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            response.setContentLengthLong(end - start + 1);
+            send(request, response, file, start, end - start + 1);
+            return;
+        }
+
+        sendMultipart(response, file, contentType, length, ranges);
+    }
+
+    /**
+     * @return 빈 리스트면 전체 전송, null 이면 만족할 수 없는 범위(416)
+     */
+    private List<HttpRange> parseRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return List.of();
+        }
+
+        // If-Range 가 현재 버전과 다르면 Range 를 무시하고 전체를 보낸다.
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            if (ifRangeDate == -1 || lastModified / 1000 > ifRangeDate / 1000) {
+                return List.of();
+            }
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // 문법 오류나 범위 개수 초과: 헤더가 없는 것처럼 전체를 보낸다
+            return List.of();
+        }
+
+        try {
+            long total = 0;
+            for (HttpRange range : ranges) {
+                // 시작 위치가 파일 길이를 넘는 범위는 IllegalArgumentException
+                total += range.getRangeEnd(length) - range.getRangeStart(length) + 1;
+            }
+            // 같은 구간을 여러 번 요청해 파일보다 큰 응답을 만들게 하지 않는다
+            return total > length ? List.of() : ranges;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response,
+                      Path file, long position, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // 서블릿이 반환된 뒤 톰캣이 sendfile 로 직접 전송한다 (사용자 공간 복사 없음).
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        transfer(file, position, count, target);
+        out.flush();
+    }
+
+    private void sendMultipart(HttpServletResponse response, Path file, String contentType,
+                               long length, List<HttpRange> ranges) throws IOException {
+        String boundary = UUID.randomUUID().toString();
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            String partHeader = "\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + start + "-" + end + "/" + length + "\r\n\r\n";
+            out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+            transfer(file, start, end - start + 1, target);
+        }
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private void transfer(Path file, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+        }
+    }
+}
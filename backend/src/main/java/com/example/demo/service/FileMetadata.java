@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import java.nio.file.Path;
+
+/**
+ * 다운로드 응답에 필요한 파일 정보. 저장된 파일은 내용이 바뀌지 않으므로 메모리에 캐시해 둔다.
+ * width 는 이미지 원본 너비 (축소본 생성 전이거나 이미지가 아니면 null).
+ */
+public record FileMetadata(String fileName, Path path, long size, String contentType,
+                           String contentHash, long lastModified, Integer width) {
+}
@@ -1,60 +1,476 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.FileBlob;
+import com.example.demo.domain.FileRef;
+import com.example.demo.exception.StoredFileNotFoundException;
+import com.example.demo.repository.FileBlobRepository;
+import com.example.demo.repository.FileRefRepository;
+import com.example.demo.util.ContentTypeSniffer;
+import com.example.demo.util.DirectBufferPool;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class FileStorageService {
 
+    private static final Pattern HASH_FILE_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+    private static final Pattern VARIANT_FILE_NAME = Pattern.compile("(.+)_w\\d+(\\.[^.]+)?");
+    private static final Pattern SHARD_PREFIX = Pattern.compile("[0-9a-z]{4}");
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
     private final Path fileStorageLocation;
+    // 업로드 디렉토리와 같은 파일시스템에 두어야 ATOMIC_MOVE 가 가능하다
+    private final Path tempLocation;
+    private final FileBlobRepository fileBlobRepository;
+    private final FileRefRepository fileRefRepository;
+    private final DirectBufferPool bufferPool = new DirectBufferPool(64 * 1024, 64);
+
+    // 같은 해시에 대한 저장/삭제를 직렬화하는 줄무늬 락
+    private final Lock[] blobLocks = new Lock[64];
+
+    // 파일명 -> 다운로드용 메타데이터. 저장된 파일은 내용이 바뀌지 않으므로 삭제/이동 때만 무효화한다.
+    private final Cache<String, FileMetadata> metadataCache = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
 
-    public FileStorageService(@Value("${file.upload-dir:uploads}") String uploadDir) {
+    public FileStorageService(@Value("${file.upload-dir:uploads}") String uploadDir,
+                              FileBlobRepository fileBlobRepository,
+                              FileRefRepository fileRefRepository) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tempLocation = this.fileStorageLocation.resolve(".tmp");
+        this.fileBlobRepository = fileBlobRepository;
+        this.fileRefRepository = fileRefRepository;
+        for (int i = 0; i < blobLocks.length; i++) {
+            blobLocks[i] = new ReentrantLock();
+        }
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.tempLocation);
         } catch (Exception ex) {
             throw new RuntimeException("파일 저장 디렉토리를 생성할 수 없습니다.", ex);
         }
     }
 
-    public String storeFile(MultipartFile file) {
-        // 파일명 중복 방지를 위해 UUID 사용
-        String originalFileName = file.getOriginalFilename();
-        String fileExtension = "";
-        if (originalFileName != null && originalFileName.contains(".")) {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+    /**
+     * 업로드 스트림을 임시 파일로 복사하면서 SHA-256 을 계산하고, 해시 이름으로 원자적으로 옮긴다.
+     * 같은 내용이 이미 저장되어 있으면 임시 파일을 버리고 기존 파일명을 돌려준다 (참조 수만 증가).
+     * @param owner 업로드한 사용자의 userId (이 사용자만 자기 참조를 지울 수 있다)
+     */
+    public String storeFile(MultipartFile file, String owner) {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getOriginalFilename(), Long.MAX_VALUE, owner).fileName();
+        } catch (IOException ex) {
+            throw new RuntimeException("파일 저장에 실패했습니다: " + file.getOriginalFilename(), ex);
+        }
+    }
+
+    /**
+     * 요청 본문 같은 원시 스트림을 그대로 저장한다. 재사용 direct 버퍼 하나로 읽으면서
+     * 해시, 크기, 매직 바이트 형식을 한 번에 계산하고, 같은 파일시스템의 임시 파일에 쓴 뒤 이름만 바꾼다.
+     * @param originalFileName 확장자 결정용 (없으면 판별한 형식의 확장자)
+     * @param maxSize 이 크기를 넘으면 IllegalArgumentException
+     * @param owner 업로드한 사용자의 userId
+     */
+    public StoredFile store(InputStream in, String originalFileName, long maxSize, String owner) throws IOException {
+        Path tempFile = createTempFile();
+        try {
+            MessageDigest digest = newSha256();
+            byte[] head = new byte[ContentTypeSniffer.HEAD_LENGTH];
+            int headLength = 0;
+            long size = 0;
+
+            ReadableByteChannel source = Channels.newChannel(in);
+            ByteBuffer buffer = bufferPool.acquire();
+            try (FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (source.read(buffer.clear()) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxSize) {
+                        throw new IllegalArgumentException("파일 크기가 제한을 넘었습니다: " + maxSize);
+                    }
+                    if (headLength < head.length) {
+                        int n = Math.min(head.length - headLength, buffer.remaining());
+                        buffer.duplicate().get(head, headLength, n);
+                        headLength += n;
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                }
+            } finally {
+                bufferPool.release(buffer);
+            }
+
+            String contentType = ContentTypeSniffer.detect(head, headLength);
+            String extension = extensionOf(originalFileName);
+            if (extension.isEmpty()) {
+                extension = ContentTypeSniffer.extensionFor(contentType);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            return new StoredFile(commit(tempFile, hash, hash + extension, size, contentType, owner), size, contentType);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * 이미 업로드 디렉토리의 임시 영역({@link #createTempFile()})에 다 받아 둔 파일을 저장소로 넘긴다.
+     * 넘긴 파일은 옮겨지거나(새 내용) 지워진다(중복 내용).
+     */
+    public StoredFile storeCompletedFile(Path tempFile, String originalFileName, String owner) {
+        try {
+            String hash = sha256(tempFile);
+            long size = Files.size(tempFile);
+            String contentType = sniff(tempFile);
+            String extension = extensionOf(originalFileName);
+            if (extension.isEmpty()) {
+                extension = ContentTypeSniffer.extensionFor(contentType);
+            }
+            return new StoredFile(commit(tempFile, hash, hash + extension, size, contentType, owner), size, contentType);
+        } catch (IOException ex) {
+            throw new RuntimeException("파일 저장에 실패했습니다: " + originalFileName, ex);
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // 남은 임시 파일은 다음 정리 때 지워진다
+            }
+        }
+    }
+
+    /**
+     * 해시가 같은 업로드/삭제가 동시에 진행되면 "행 삭제 후 파일 삭제" 사이에 새 업로드가 끼어들 수 있으므로
+     * 해시 단위 락 안에서 참조 수 갱신과 파일 이동/삭제를 함께 처리한다.
+     * 업로드마다 업로더의 참조(file_ref)를 하나씩 남긴다.
+     */
+    private String commit(Path tempFile, String hash, String fileName, long size, String contentType,
+                          String owner) throws IOException {
+        Lock lock = lockFor(fileName);
+        lock.lock();
+        try {
+            String stored = storeBlob(tempFile, hash, fileName, size, contentType);
+            fileRefRepository.save(FileRef.builder()
+                    .owner(owner)
+                    .fileName(stored)
+                    .build());
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String storeBlob(Path tempFile, String hash, String fileName, long size, String contentType) throws IOException {
+        if (fileBlobRepository.incrementRefCount(hash) > 0) {
+            String existing = fileBlobRepository.findByHash(hash)
+                    .map(FileBlob::getFileName)
+                    .orElse(fileName);
+            // 다시 업로드된 파일은 고아 파일 GC 의 유예 기간을 새로 시작한다
+            touch(resolve(existing));
+            return existing;
+        }
+
+        Path target = shardedPath(fileName);
+        Files.createDirectories(target.getParent());
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            fileBlobRepository.saveAndFlush(FileBlob.builder()
+                    .hash(hash)
+                    .fileName(fileName)
+                    .refCount(1L)
+                    .size(size)
+                    .contentType(contentType)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // 다른 인스턴스가 같은 해시를 먼저 등록한 경우 (파일 내용은 동일하다)
+            fileBlobRepository.incrementRefCount(hash);
+        }
+        return fileName;
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException ignored) {
+            // 파일이 없으면 GC 대상도 아니다
+        }
+    }
+
+    private Lock lockFor(String fileName) {
+        String hash = hashOf(fileName);
+        String key = hash != null ? hash : fileName;
+        return blobLocks[Math.floorMod(key.hashCode(), blobLocks.length)];
+    }
+
+    private static String extensionOf(String originalFileName) {
+        if (originalFileName == null) {
+            return "";
+        }
+        int dot = originalFileName.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String extension = originalFileName.substring(dot).toLowerCase(Locale.ROOT);
+        // 확장자에는 영문/숫자만 허용한다
+        return SAFE_EXTENSION.matcher(extension).matches() ? extension : "";
+    }
+
+    /**
+     * 해시 기반 파일명("해시.확장자")이면 내용의 SHA-256. 이전 UUID 파일명이나 축소본 이름은 null.
+     */
+    static String hashOf(String fileName) {
+        Matcher matcher = HASH_FILE_NAME.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * 업로드 디렉토리와 같은 파일시스템의 임시 파일 (다 쓴 뒤 ATOMIC_MOVE 로 옮기는 용도).
+     */
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(tempLocation, "upload-", ".part");
+    }
+
+    /**
+     * 업로드 디렉토리 안의 파일 경로. 새 샤딩 경로(ab/cd/name)를 먼저 보고, 없으면 이전 평면 경로를 본다.
+     * 둘 다 없으면 샤딩 경로를 돌려준다. 디렉토리 밖을 가리키는 이름(../ 등)은 거부한다.
+     */
+    public Path resolve(String fileName) {
+        Path flat = flatPath(fileName);
+        Path sharded = shardedPath(fileName);
+        if (!sharded.equals(flat) && Files.notExists(sharded) && Files.exists(flat)) {
+            return flat;
+        }
+        return sharded;
+    }
+
+    private Path flatPath(String fileName) {
+        Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+        // 점으로 시작하는 이름(.tmp 등 내부 디렉토리)과 하위 경로는 허용하지 않는다
+        if (fileName.startsWith(".") || !this.fileStorageLocation.equals(filePath.getParent())) {
+            throw new IllegalArgumentException("유효하지 않은 파일명입니다: " + fileName);
+        }
+        return filePath;
+    }
+
+    /**
+     * 파일명 앞 4글자로 2단계 디렉토리를 나눈다 (해시/UUID 이름은 앞부분이 고르게 분포한다).
+     * 앞 4글자가 영문 소문자/숫자가 아니면 평면 경로를 그대로 쓴다.
+     */
+    private Path shardedPath(String fileName) {
+        Path flat = flatPath(fileName);
+        if (!SHARD_PREFIX.matcher(fileName).lookingAt()) {
+            return flat;
         }
-        String fileName = UUID.randomUUID().toString() + fileExtension;
+        return this.fileStorageLocation
+                .resolve(fileName.substring(0, 2))
+                .resolve(fileName.substring(2, 4))
+                .resolve(fileName);
+    }
 
+    /**
+     * 평면 경로에 남아 있는 이전 파일을 샤딩 경로로 옮긴다 (백그라운드 이전 작업용).
+     * @return 옮겼으면 true
+     */
+    boolean migrateToShard(String fileName) throws IOException {
+        Lock lock = lockFor(fileName);
+        lock.lock();
         try {
-            // 파일명에 ".."가 포함되어 있는지 확인 (보안)
-            if (fileName.contains("..")) {
-                throw new RuntimeException("유효하지 않은 파일명입니다: " + fileName);
+            Path flat = flatPath(fileName);
+            Path sharded = shardedPath(fileName);
+            if (sharded.equals(flat) || !Files.isRegularFile(flat)) {
+                return false;
             }
+            Files.createDirectories(sharded.getParent());
+            // 같은 이름이면 내용도 같으므로(해시/UUID 이름) 이미 있으면 덮어써도 된다
+            Files.move(flat, sharded, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            metadataCache.invalidate(fileName);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다운로드용 메타데이터. 해시 이름 파일은 업로드 때 기록한 file_blob 행에서, 그 밖의 파일(이전 UUID 파일,
+     * 축소본)은 처음 한 번만 파일을 읽어 만들고 메모리에 캐시한다. 파일이 없으면 null.
+     */
+    public FileMetadata metadata(String fileName) {
+        return metadataCache.get(fileName, this::loadMetadata);
+    }
+
+    /**
+     * 이미지 원본 너비를 기록한다. 원본보다 넓은 축소본 요청에 원본을 고정 캐시로 보낼 수 있게 된다.
+     */
+    public void recordImageWidth(String fileName, int width) {
+        if (fileBlobRepository.updateWidth(fileName, width) > 0) {
+            metadataCache.invalidate(fileName);
+        }
+    }
+
+    private FileMetadata loadMetadata(String fileName) {
+        Path path = resolve(fileName);
+        String hash = hashOf(fileName);
+        if (hash != null) {
+            FileBlob blob = fileBlobRepository.findByFileName(fileName).orElse(null);
+            if (blob != null && blob.getSize() != null && blob.getContentType() != null && blob.getCreatedAt() != null) {
+                long createdAt = blob.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                return new FileMetadata(fileName, path, blob.getSize(), blob.getContentType(), hash, createdAt,
+                        blob.getWidth());
+            }
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileMetadata(fileName, path, attributes.size(), sniff(path),
+                    hash != null ? hash : sha256(path), attributes.lastModifiedTime().toMillis(), null);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("파일 정보를 읽을 수 없습니다: " + fileName, ex);
+        }
+    }
 
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    private static String sniff(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(ContentTypeSniffer.HEAD_LENGTH);
+            return ContentTypeSniffer.detect(head, head.length);
+        }
+    }
 
-            return fileName;
+    private static String sha256(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = newSha256();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
         } catch (IOException ex) {
-            throw new RuntimeException("파일 저장에 실패했습니다: " + fileName, ex);
+            throw new RuntimeException("파일 해시 계산에 실패했습니다: " + file.getFileName(), ex);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
         }
     }
 
-    public void deleteFile(String fileName) {
+    /**
+     * 호출한 사용자의 참조 하나를 지우고 참조 수를 줄인다. 마지막 참조였을 때만 실제 파일을 지운다.
+     * 자기 참조가 없으면 (남의 파일, 없는 파일, 참조 정보가 없는 이전 UUID 파일) 파일이 있는지 드러내지 않도록
+     * 모두 StoredFileNotFoundException 으로 응답한다. 이전 파일은 고아 파일 GC 가 정리한다.
+     */
+    public void deleteFile(String owner, String fileName) {
+        Path filePath = resolve(fileName);
+        Lock lock = lockFor(fileName);
+        lock.lock();
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+            FileRef ref = fileRefRepository.findFirstByOwnerAndFileName(owner, fileName)
+                    .orElseThrow(() -> new StoredFileNotFoundException("파일을 찾을 수 없습니다: " + fileName));
+            fileRefRepository.delete(ref);
+            fileBlobRepository.decrementRefCount(fileName);
+            if (fileBlobRepository.deleteUnreferenced(fileName) == 0) {
+                // 다른 업로드의 참조가 남아 있다
+                return;
+            }
+            metadataCache.invalidate(fileName);
             Files.deleteIfExists(filePath);
+            deleteVariants(filePath);
         } catch (IOException ex) {
             throw new RuntimeException("파일 삭제에 실패했습니다: " + fileName, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 고아 파일 GC 용 삭제. 락을 잡은 뒤 수정 시각을 다시 확인해, 그 사이 다시 업로드된 파일은 건너뛴다.
+     * 참조 수와 관계없이 file_blob 행도 함께 지운다 (게시글에서 참조하지 않으므로).
+     * @return 지운 바이트 수, 지우지 않았으면 -1
+     */
+    long deleteOrphan(Path file, Instant modifiedBefore) throws IOException {
+        String fileName = file.getFileName().toString();
+        Lock lock = lockFor(fileName);
+        lock.lock();
+        try {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException ex) {
+                return -1;
+            }
+            if (!attributes.lastModifiedTime().toInstant().isBefore(modifiedBefore)) {
+                return -1;
+            }
+            if (hashOf(fileName) != null) {
+                fileRefRepository.deleteByFileName(fileName);
+                fileBlobRepository.deleteByFileName(fileName);
+            }
+            metadataCache.invalidate(fileName);
+            return Files.deleteIfExists(file) ? attributes.size() : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 축소본 이름("이름_w너비.확장자")이면 원본 이름, 아니면 그대로.
+     */
+    static String originalNameOf(String fileName) {
+        Matcher matcher = VARIANT_FILE_NAME.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) + (matcher.group(2) != null ? matcher.group(2) : "") : fileName;
+    }
+
+    Path getTempLocation() {
+        return tempLocation;
+    }
+
+    /**
+     * 원본 옆에 저장된 축소본("이름_w너비.확장자")을 함께 지운다.
+     */
+    private void deleteVariants(Path original) throws IOException {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String prefix = (dot < 0 ? name : name.substring(0, dot)) + "_w";
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(original.getParent(),
+                entry -> entry.getFileName().toString().startsWith(prefix))) {
+            for (Path variant : variants) {
+                metadataCache.invalidate(variant.getFileName().toString());
+                Files.deleteIfExists(variant);
+            }
         }
     }
 
@@ -0,0 +1,194 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 이미지의 축소본(너비 320/640/1280 등)을 전용 스레드 풀에서 만든다.
+ * 축소본은 원본 옆에 "이름_w너비.확장자" 로 저장되며, 만들어지기 전에는 원본을 대신 보낸다.
+ * JDK ImageIO 만 사용하고, 읽을 수 없는 형식이거나 원본이 더 작으면 만들지 않는다.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    // 디코딩 전에 거부할 최대 픽셀 수 (압축 폭탄 방지)
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    private final FileStorageService fileStorageService;
+    private final int[] widths;
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantService(FileStorageService fileStorageService,
+                               @Value("${file.image.variant-widths:320,640,1280}") int[] widths,
+                               @Value("${file.image.pool-size:2}") int poolSize,
+                               @Value("${file.image.queue-capacity:256}") int queueCapacity) {
+        this.fileStorageService = fileStorageService;
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 축소본 생성을 예약한다. 큐가 가득 차면 건너뛰고 원본만 제공한다.
+     */
+    public void generateAsync(String fileName) {
+        if (!isImage(fileName)) {
+            return;
+        }
+        try {
+            executor.execute(() -> generate(fileName));
+        } catch (RejectedExecutionException e) {
+            log.warn("이미지 축소본 생성 큐가 가득 차 건너뜀: {}", fileName);
+        }
+    }
+
+    /**
+     * 요청 너비 이상인 가장 작은 축소본 파일명. 요청 너비가 모든 축소본보다 크거나,
+     * 그 축소본이 원본보다 넓어 만들어지지 않는 경우면 null (원본 사용).
+     * @param originalWidth 원본 너비 (모르면 null)
+     */
+    public String variantFor(String fileName, int requestedWidth, Integer originalWidth) {
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                return originalWidth != null && width >= originalWidth ? null : variantName(fileName, width);
+            }
+        }
+        return null;
+    }
+
+    public static String variantName(String fileName, int width) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0
+                ? fileName + "_w" + width
+                : fileName.substring(0, dot) + "_w" + width + fileName.substring(dot);
+    }
+
+    void generate(String fileName) {
+        try {
+            Path source = fileStorageService.resolve(fileName);
+            BufferedImage original = read(source);
+            if (original == null) {
+                return;
+            }
+            fileStorageService.recordImageWidth(fileName, original.getWidth());
+            String format = extensionOf(fileName);
+            for (int width : widths) {
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                Path target = fileStorageService.resolve(variantName(fileName, width));
+                if (Files.exists(target)) {
+                    continue;
+                }
+                write(resize(original, width), format, target);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 축소본 생성 실패: {}", fileName, e);
+        }
+    }
+
+    private static BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage original, int width) {
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+        int type = original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 원자적으로 옮기므로, 다운로드가 쓰다 만 축소본을 보는 일은 없다.
+     */
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersBySuffix(format);
+        if (!writers.hasNext()) {
+            return;
+        }
+        String formatName = writers.next().getOriginatingProvider().getFormatNames()[0];
+        Path tempFile = fileStorageService.createTempFile();
+        try {
+            if (!ImageIO.write(image, formatName, tempFile.toFile())) {
+                return;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static boolean isImage(String fileName) {
+        return List.of(ImageIO.getReaderFileSuffixes()).contains(extensionOf(fileName));
+    }
+
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
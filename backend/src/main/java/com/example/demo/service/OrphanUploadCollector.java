@@ -0,0 +1,169 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 게시글에서 참조하지 않는 업로드 파일 정리 (mark & sweep).
+ * - mark: post.image_url 을 스트리밍으로 읽어 참조 중인 파일명 집합을 만든다.
+ * - sweep: 업로드 디렉토리를 순회하며 참조되지 않고 유예 기간보다 오래된 파일을 지운다.
+ *   batch-size 개마다 pause 만큼 쉬고, 한 번 실행에 max-deletes-per-run 개까지만 지운다 (나머지는 다음 실행).
+ * 작성 화면에서 올리고 버려진 파일, 삭제된 게시글의 이미지, 끝나지 않은 분할 업로드 임시 파일이 대상이다.
+ * 유예 기간 안의 파일은 지우지 않으므로, 업로드 직후 아직 게시글에 연결되지 않은 파일은 안전하다.
+ */
+@Slf4j
+@Component
+public class OrphanUploadCollector {
+
+    private static final String FILE_PATH_MARKER = "/api/files/";
+
+    private final FileStorageService fileStorageService;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxDeletesPerRun;
+    private final Counter bytesReclaimed;
+    private final Counter filesDeleted;
+
+    public OrphanUploadCollector(FileStorageService fileStorageService,
+                                 PostRepository postRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${file.gc.grace-period:PT48H}") Duration gracePeriod,
+                                 @Value("${file.gc.batch-size:100}") int batchSize,
+                                 @Value("${file.gc.pause:PT1S}") Duration pause,
+                                 @Value("${file.gc.max-deletes-per-run:10000}") int maxDeletesPerRun) {
+        this.fileStorageService = fileStorageService;
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxDeletesPerRun = maxDeletesPerRun;
+        this.bytesReclaimed = Counter.builder("upload.gc.reclaimed")
+                .baseUnit("bytes")
+                .description("고아 업로드 파일 정리로 회수한 용량")
+                .register(meterRegistry);
+        this.filesDeleted = Counter.builder("upload.gc.deleted")
+                .baseUnit("files")
+                .description("고아 업로드 파일 정리로 지운 파일 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${file.gc.initial-delay:PT15M}",
+            fixedDelayString = "${file.gc.interval:PT6H}")
+    public void collect() {
+        try {
+            long reclaimed = collectOnce();
+            if (reclaimed > 0) {
+                log.info("고아 업로드 파일 정리: {} bytes 회수", reclaimed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("고아 업로드 파일 정리 실패", e);
+        }
+    }
+
+    /**
+     * @return 이번 실행에서 회수한 바이트 수
+     */
+    public long collectOnce() throws IOException, InterruptedException {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Set<String> referenced = markReferenced();
+
+        Path root = fileStorageService.getFileStorageLocation();
+        Path temp = fileStorageService.getTempLocation();
+        long reclaimed = 0;
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext() && deleted < maxDeletesPerRun) {
+                Path file = iterator.next();
+                if (!isCandidate(file, temp, referenced, cutoff)) {
+                    continue;
+                }
+                long size = fileStorageService.deleteOrphan(file, cutoff);
+                if (size < 0) {
+                    continue;
+                }
+                reclaimed += size;
+                deleted++;
+                bytesReclaimed.increment(size);
+                filesDeleted.increment();
+                if (deleted % batchSize == 0 && !pause.isZero()) {
+                    Thread.sleep(pause.toMillis());
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    private Set<String> markReferenced() {
+        Set<String> referenced = new HashSet<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> imageUrls = postRepository.streamImageUrls()) {
+                imageUrls.map(OrphanUploadCollector::fileNameOf)
+                        .filter(name -> name != null)
+                        .forEach(referenced::add);
+            }
+        });
+        return referenced;
+    }
+
+    private static boolean isCandidate(Path file, Path temp, Set<String> referenced, Instant cutoff) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (!attributes.isRegularFile() || !attributes.lastModifiedTime().toInstant().isBefore(cutoff)) {
+            return false;
+        }
+        if (file.startsWith(temp)) {
+            // 끝나지 않은 업로드의 임시 파일
+            return true;
+        }
+        String name = file.getFileName().toString();
+        return !name.startsWith(".") && !referenced.contains(FileStorageService.originalNameOf(name));
+    }
+
+    /**
+     * 게시글 image_url(".../api/files/{name}?w=..") 에서 파일명만 꺼낸다. 다른 곳을 가리키는 URL 은 null.
+     */
+    static String fileNameOf(String imageUrl) {
+        int start = imageUrl.lastIndexOf(FILE_PATH_MARKER);
+        if (start < 0) {
+            return null;
+        }
+        String name = imageUrl.substring(start + FILE_PATH_MARKER.length());
+        int end = name.indexOf('?');
+        if (end < 0) {
+            end = name.indexOf('#');
+        }
+        return end < 0 ? name : name.substring(0, end);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.PostRepository;
+import com.example.demo.util.Excerpts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * excerpt 컬럼이 생기기 전에 작성된 게시글의 excerpt 를 기동 시 한 번 채운다.
+ * 이후 작성/수정되는 게시글은 PostService 가 저장 시점에 excerpt 를 만든다.
+ * - 저장 시점과 같은 결과가 되도록 SQL substring 대신 Excerpts.of 로 만든다 (공백 정리, 말줄임표).
+ * - id 순으로 batch-size 건씩 읽어 배치마다 별도 트랜잭션으로 쓴다.
+ * - 채울 게시글이 없으면 (보통의 기동) 존재 여부 쿼리 한 번으로 끝난다.
+ */
+@Slf4j
+@Component
+public class PostExcerptBackfill implements ApplicationRunner {
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PostExcerptBackfill(PostRepository postRepository,
+                               PostService postService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${post.excerpt-backfill.batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!postRepository.existsByExcerptIsNull()) {
+            return;
+        }
+        long filled = backfill();
+        if (filled > 0) {
+            log.info("excerpt 가 없는 게시글 {}건을 채웠습니다.", filled);
+        }
+    }
+
+    long backfill() {
+        int excerptLength = postService.getExcerptLength();
+        long filled = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = postRepository.findMissingExcerpts(afterId, Limit.of(batchSize));
+            if (rows.isEmpty()) {
+                return filled;
+            }
+            Integer count = transactionTemplate.execute(status -> {
+                int updated = 0;
+                for (Object[] row : rows) {
+                    updated += postRepository.fillExcerpt((Long) row[0], Excerpts.of((String) row[1], excerptLength));
+                }
+                return updated;
+            });
+            filled += count != null ? count : 0;
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+}
@@ -1,25 +1,45 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.FeedPageCache;
+import com.example.demo.cache.PostDetailCache;
 import com.example.demo.domain.Post;
 import com.example.demo.domain.User;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.dto.PostRequestDto;
 import com.example.demo.dto.PostResponseDto;
+import com.example.demo.dto.PostSummaryDto;
 import com.example.demo.exception.PostNotFoundException;
 import com.example.demo.exception.UserNotFoundException;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.Excerpts;
+import com.example.demo.util.FeedCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int MAX_FEED_SIZE = 50;
+
+    private static final int DEFAULT_EXCERPT_LENGTH = 150;
+    private static final int MAX_EXCERPT_LENGTH = 500;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
+    private final FeedPageCache feedPageCache;
+
+    @Value("${post.excerpt-length:" + DEFAULT_EXCERPT_LENGTH + "}")
+    private int excerptLength = DEFAULT_EXCERPT_LENGTH;
 
     @Transactional
     public Long createPost(String userId, PostRequestDto requestDto) {
@@ -29,11 +49,13 @@ public class PostService {
         Post post = Post.builder()
                 .title(requestDto.getTitle())
                 .content(requestDto.getContent())
+                .excerpt(toExcerpt(requestDto.getContent()))
                 .imageUrl(requestDto.getImageUrl())
                 .user(user)
                 .build();
 
         Post savedPost = postRepository.save(post);
+        feedPageCache.invalidateAfterCommit();
         return savedPost.getId();
     }
 
@@ -47,10 +69,14 @@ public class PostService {
         }
 
         post.update(requestDto.getTitle(), requestDto.getContent());
+        post.updateExcerpt(toExcerpt(requestDto.getContent()));
 
         if (requestDto.getImageUrl() != null) {
             post.updateImage(requestDto.getImageUrl());
         }
+
+        postDetailCache.evictAfterCommit(postId);
+        feedPageCache.invalidateAfterCommit();
     }
 
     @Transactional
@@ -63,13 +89,18 @@ public class PostService {
         }
 
         postRepository.delete(post);
+        postDetailCache.evictAfterCommit(postId);
+        feedPageCache.invalidateAfterCommit();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 상세 조회는 캐시를 먼저 본다. 캐시 히트 시 트랜잭션/커넥션을 잡지 않도록 이 메서드에는 @Transactional 을 두지 않고,
+     * 미스일 때만 작성자까지 fetch join 한 한 번의 쿼리로 읽는다.
+     */
     public PostResponseDto getPost(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("게시글을 찾을 수 없습니다."));
-        return toResponseDto(post);
+        return postDetailCache.get(postId, id -> postRepository.findWithUserById(id)
+                .map(this::toResponseDto)
+                .orElseThrow(() -> new PostNotFoundException("게시글을 찾을 수 없습니다.")));
     }
 
     @Transactional(readOnly = true)
@@ -78,6 +109,77 @@ public class PostService {
                 .map(this::toResponseDto);
     }
 
+    /**
+     * 피드 페이지 크기를 1 ~ MAX_FEED_SIZE 로 맞춘다. 페이지 캐시 키를 만들기 전에 컨트롤러도 이 값을 쓴다.
+     */
+    public static int clampFeedSize(int size) {
+        return Math.max(1, Math.min(size, MAX_FEED_SIZE));
+    }
+
+    /**
+     * 커서 기반 피드. size + 1개를 읽어 다음 페이지 존재 여부만 판단하고 COUNT 쿼리는 실행하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceDto<PostResponseDto> getFeed(String cursor, int size) {
+        int pageSize = clampFeedSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findAllByOrderByCreatedAtDescIdDesc(limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            posts = postRepository.findFeedAfter(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = posts.size() > pageSize;
+        List<Post> page = hasNext ? posts.subList(0, pageSize) : posts;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = page.get(page.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorSliceDto<>(page.stream().map(this::toResponseDto).toList(), nextCursor, hasNext);
+    }
+
+    /**
+     * 요약 피드. 본문 대신 저장된 excerpt 만 조회하며 전체 본문은 getPost 로만 제공한다.
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceDto<PostSummaryDto> getSummaryFeed(String cursor, int size) {
+        int pageSize = clampFeedSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PostSummaryDto> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = postRepository.findSummaries(limit);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            summaries = postRepository.findSummariesAfter(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = summaries.size() > pageSize;
+        List<PostSummaryDto> page = hasNext ? summaries.subList(0, pageSize) : summaries;
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummaryDto last = page.get(page.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorSliceDto<>(List.copyOf(page), nextCursor, hasNext);
+    }
+
+    public int getExcerptLength() {
+        return Math.max(1, Math.min(excerptLength, MAX_EXCERPT_LENGTH));
+    }
+
+    private String toExcerpt(String content) {
+        return Excerpts.of(content, getExcerptLength());
+    }
+
     private PostResponseDto toResponseDto(Post post) {
         return PostResponseDto.builder()
                 .id(post.getId())
@@ -86,6 +188,7 @@ public class PostService {
                 .imageUrl(post.getImageUrl())
                 .authorUserId(post.getUser().getUserId())
                 .authorName(post.getUser().getName())
+                .commentCount(post.getCommentCount())
                 .createdAt(post.getCreatedAt())
                 .build();
     }
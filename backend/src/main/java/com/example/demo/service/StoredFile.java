@@ -0,0 +1,7 @@
+package com.example.demo.service;
+
+/**
+ * 저장 결과. contentType 은 업로드 시점에 매직 바이트로 판별한 값이다.
+ */
+public record StoredFile(String fileName, long size, String contentType) {
+}
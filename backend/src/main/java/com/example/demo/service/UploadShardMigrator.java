@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 업로드 디렉토리 최상위에 평면으로 남아 있는 이전 파일을 샤딩 경로(ab/cd/name)로 옮기는 작업.
+ * 한 번 실행할 때 batch-size 개까지만 옮기고, 파일 사이마다 pause 만큼 쉬어 디스크 I/O 를 제한한다.
+ * 옮기는 도중에도 다운로드/삭제는 두 경로를 모두 확인하므로 서비스 중에 실행해도 된다.
+ */
+@Slf4j
+@Component
+public class UploadShardMigrator {
+
+    private final FileStorageService fileStorageService;
+    private final int batchSize;
+    private final Duration pause;
+
+    public UploadShardMigrator(FileStorageService fileStorageService,
+                               @Value("${file.shard-migration.batch-size:200}") int batchSize,
+                               @Value("${file.shard-migration.pause:PT0.02S}") Duration pause) {
+        this.fileStorageService = fileStorageService;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @Scheduled(initialDelayString = "${file.shard-migration.initial-delay:PT1M}",
+            fixedDelayString = "${file.shard-migration.interval:PT1M}")
+    public void migrate() {
+        try {
+            int moved = migrateBatch();
+            if (moved > 0) {
+                log.info("업로드 파일 샤딩 이전: {}건", moved);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("업로드 파일 샤딩 이전 실패", e);
+        }
+    }
+
+    /**
+     * @return 이번 배치에서 옮긴 파일 수 (0 이면 이전 완료)
+     */
+    public int migrateBatch() throws IOException, InterruptedException {
+        int moved = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(fileStorageService.getFileStorageLocation(),
+                entry -> Files.isRegularFile(entry) && !entry.getFileName().toString().startsWith("."))) {
+            for (Path entry : stream) {
+                if (moved >= batchSize) {
+                    break;
+                }
+                if (fileStorageService.migrateToShard(entry.getFileName().toString())) {
+                    moved++;
+                    if (!pause.isZero()) {
+                        Thread.sleep(pause.toMillis());
+                    }
+                }
+            }
+        }
+        return moved;
+    }
+}
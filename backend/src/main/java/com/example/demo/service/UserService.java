@@ -2,25 +2,42 @@ package com.example.demo.service;
 
 import com.example.demo.auth.JwtUtil;
 import com.example.demo.domain.User;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.dto.UserRequestDto;
 import com.example.demo.dto.UserResponseDto;
 import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserService{
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
 
-    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                       PasswordHashingService passwordHashingService, TransactionTemplate transactionTemplate,
+                       @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
     }
 
     @Transactional
@@ -41,6 +58,31 @@ public class UserService{
         return user.getId();
     }
 
+    /**
+     * 회원가입 후 바로 토큰을 발급한다. BCrypt 해싱만 전용 풀에서 실행되고,
+     * 저장과 토큰 발급은 애플리케이션 작업 실행기에서 트랜잭션 안에서 실행해 해싱 스레드를 DB 대기로 잡아두지 않는다.
+     * 방금 해싱한 비밀번호를 다시 matches로 검증하지 않는다.
+     */
+    public CompletableFuture<UserResponseDto> registerAsync(UserRequestDto userRequestDto) {
+        validateDuplicateUser(userRequestDto);
+
+        return passwordHashingService.encode(userRequestDto.getPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    User user;
+                    try {
+                        user = transactionTemplate.execute(status -> userRepository.save(User.builder()
+                                .userId(userRequestDto.getUserId())
+                                .password(encodedPassword)
+                                .name(userRequestDto.getName())
+                                .build()));
+                    } catch (DataIntegrityViolationException e) {
+                        // 중복 검사 이후 해싱하는 동안 같은 userId 가 먼저 가입된 경우 (user_id 유니크 제약)
+                        throw new IllegalArgumentException("이미 존재하는 사용자입니다.");
+                    }
+                    return toResponseDto(user, jwtUtil.generateToken(user.getUserId()));
+                }, taskExecutor);
+    }
+
     private void validateDuplicateUser(UserRequestDto userRequestDto) {
         String userId = userRequestDto.getUserId();
         String password = userRequestDto.getPassword();
@@ -83,7 +125,7 @@ public class UserService{
         String userId = userRequestDto.getUserId();
         String password = userRequestDto.getPassword();
 
-        User user = userRepository.findByUserId(userId)
+        User user = userRepository.findForLoginByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
 
         if (!passwordEncoder.matches(password, user.getPassword())) {
@@ -92,6 +134,27 @@ public class UserService{
 
         String token = jwtUtil.generateToken(user.getUserId());
 
+        return toResponseDto(user, token);
+    }
+
+    /**
+     * 로그인과 같지만 BCrypt 검증은 전용 풀에서 실행한다.
+     * 사용자 조회는 호출 스레드에서 끝내므로 존재하지 않는 사용자는 즉시 예외가 난다.
+     */
+    public CompletableFuture<UserResponseDto> loginAsync(UserRequestDto userRequestDto) {
+        User user = userRepository.findForLoginByUserId(userRequestDto.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+
+        return passwordHashingService.matches(userRequestDto.getPassword(), user.getPassword())
+                .thenApply(matched -> {
+                    if (!matched) {
+                        throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
+                    }
+                    return toResponseDto(user, jwtUtil.generateToken(user.getUserId()));
+                });
+    }
+
+    private UserResponseDto toResponseDto(User user, String token) {
         return UserResponseDto.builder()
                 .id(user.getId())
                 .userId(user.getUserId())
@@ -122,13 +185,30 @@ public class UserService{
                 .build();
     }
 
-    public List<UserResponseDto> findAll() {
-        return userRepository.findAll().stream()
-                .map(user -> UserResponseDto.builder()
-                .id(user.getId())
-                .userId(user.getUserId())
-                .name(user.getName())
-                .build())
-                .toList();
+    /**
+     * 사용자 목록을 id 키셋 페이지로 조회한다. size + 1개를 읽어 다음 페이지 존재 여부만 판단한다.
+     * 커서는 마지막 사용자의 id 이며, 전체를 한 번에 받아야 하면 GET /api/export/users 를 쓴다.
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceDto<UserResponseDto> findPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<UserResponseDto> rows = cursor == null || cursor.isBlank()
+                ? userRepository.findPage(limit)
+                : userRepository.findPageAfter(parseCursor(cursor), limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserResponseDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+        return new CursorSliceDto<>(List.copyOf(page), nextCursor, hasNext);
+    }
+
+    private static Long parseCursor(String cursor) {
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 }
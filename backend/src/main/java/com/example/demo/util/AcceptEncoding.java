@@ -0,0 +1,63 @@
+package com.example.demo.util;
+
+import java.util.Locale;
+
+/**
+ * Accept-Encoding 헤더 해석.
+ */
+public final class AcceptEncoding {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * 미리 압축해 둔 gzip/deflate 본문 중 보낼 인코딩. q 값이 높은 쪽을, 같으면 gzip 을 고른다.
+     * 둘 다 받을 수 없으면 null (압축하지 않은 본문).
+     */
+    public static String negotiate(String header) {
+        double gzip = quality(header, GZIP);
+        double deflate = quality(header, DEFLATE);
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    /**
+     * 인코딩의 q 값. 직접 나열되지 않았으면 "*" 의 q 값, 그것도 없으면 0.
+     */
+    private static double quality(String header, String coding) {
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        Double wildcard = null;
+        for (String part : header.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(coding) || name.equals("x-" + coding)) {
+                return quality(tokens);
+            }
+            if (name.equals("*")) {
+                wildcard = quality(tokens);
+            }
+        }
+        return wildcard != null ? wildcard : 0;
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 파일 앞부분의 매직 바이트로 내용 형식을 판별한다.
+ * 클라이언트가 보낸 Content-Type 이나 확장자는 믿지 않고, 업로드 시점에 한 번만 판별한다.
+ */
+public final class ContentTypeSniffer {
+
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    // 판별에 필요한 앞부분 바이트 수
+    public static final int HEAD_LENGTH = 16;
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp",
+            "image/bmp", ".bmp",
+            "application/pdf", ".pdf",
+            "application/zip", ".zip",
+            "video/mp4", ".mp4",
+            "video/webm", ".webm");
+
+    private ContentTypeSniffer() {
+    }
+
+    public static String detect(byte[] head, int length) {
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(head, length, 'R', 'I', 'F', 'F') && ascii(head, length, 8, "WEBP")) {
+            return "image/webp";
+        }
+        if (startsWith(head, length, 'B', 'M')) {
+            return "image/bmp";
+        }
+        if (startsWith(head, length, '%', 'P', 'D', 'F', '-')) {
+            return "application/pdf";
+        }
+        if (startsWith(head, length, 'P', 'K', 0x03, 0x04)) {
+            return "application/zip";
+        }
+        if (ascii(head, length, 4, "ftyp")) {
+            return "video/mp4";
+        }
+        if (startsWith(head, length, 0x1A, 0x45, 0xDF, 0xA3)) {
+            return "video/webm";
+        }
+        return OCTET_STREAM;
+    }
+
+    /**
+     * 판별한 형식의 대표 확장자. 모르는 형식이면 빈 문자열.
+     */
+    public static String extensionFor(String contentType) {
+        return EXTENSIONS.getOrDefault(contentType, "");
+    }
+
+    private static boolean startsWith(byte[] head, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean ascii(byte[] head, int length, int offset, String text) {
+        byte[] expected = text.getBytes(StandardCharsets.US_ASCII);
+        if (length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (head[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
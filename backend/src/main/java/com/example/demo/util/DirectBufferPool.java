@@ -0,0 +1,30 @@
+package com.example.demo.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 고정 크기 direct ByteBuffer 재사용 풀.
+ * 스레드별(ThreadLocal) 버퍼는 가상 스레드처럼 스레드가 많을 때 해제되지 않는 네이티브 메모리가 쌓이므로,
+ * 최대 maxPooled 개까지만 보관하고 나머지는 GC 에 맡긴다.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> pooled;
+
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.pooled = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pooled.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer) {
+        pooled.offer(buffer);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.util;
+
+/**
+ * 게시글 본문에서 목록용 요약(excerpt)을 만든다.
+ */
+public final class Excerpts {
+
+    private static final String ELLIPSIS = "…";
+
+    private Excerpts() {
+    }
+
+    /**
+     * 연속된 공백을 하나로 줄이고 maxLength 코드 포인트까지만 남긴다. 잘린 경우 말줄임표를 붙인다.
+     */
+    public static String of(String content, int maxLength) {
+        if (content == null) {
+            return null;
+        }
+        String normalized = content.strip().replaceAll("\\s+", " ");
+        if (normalized.codePointCount(0, normalized.length()) <= maxLength) {
+            return normalized;
+        }
+        int end = normalized.offsetByCodePoints(0, maxLength);
+        return normalized.substring(0, end).stripTrailing() + ELLIPSIS;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.util;
+
+/**
+ * long 키를 박싱하지 않는 오픈 어드레싱(선형 탐사) 해시 맵.
+ * 댓글 트리 조립처럼 id -> 객체 조회를 대량으로 하는 곳에서 HashMap&lt;Long, V&gt; 대신 쓴다.
+ * 값으로 null 은 허용하지 않으며 삭제는 지원하지 않는다.
+ */
+public final class LongObjectMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null 값은 저장할 수 없습니다.");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int slot = indexOf(key);
+        @SuppressWarnings("unchecked")
+        V previous = (V) values[slot];
+        if (previous == null) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[indexOf(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // key 가 있으면 그 슬롯, 없으면 들어갈 빈 슬롯을 반환한다.
+    private int indexOf(long key) {
+        int slot = mix(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new Object[oldValues.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = indexOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
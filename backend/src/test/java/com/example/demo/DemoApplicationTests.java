@@ -2,6 +2,7 @@ package com.example.demo;
 
 import com.example.demo.auth.JwtUtil;
 import com.example.demo.domain.User;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.dto.UserRequestDto;
 import com.example.demo.dto.UserResponseDto;
 import com.example.demo.repository.UserRepository;
@@ -14,6 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -255,8 +257,8 @@ class DemoApplicationTests {
 	}
 
 	@Test
-	@DisplayName("모든 사용자 조회 성공")
-	void findAllSuccess() {
+	@DisplayName("사용자 목록을 id 순 키셋 페이지로 끝까지 조회")
+	void findPageSuccess() {
 		// given
 		userService.register(UserRequestDto.builder()
 				.userId("user1")
@@ -275,12 +277,19 @@ class DemoApplicationTests {
 				.build());
 
 		// when
-		List<UserResponseDto> users = userService.findAll();
+		CursorSliceDto<UserResponseDto> first = userService.findPage(null, 2);
+		CursorSliceDto<UserResponseDto> second = userService.findPage(first.getNextCursor(), 2);
 
 		// then
-		assertThat(users).hasSize(3);
+		assertThat(first.isHasNext()).isTrue();
+		assertThat(second.isHasNext()).isFalse();
+		assertThat(second.getNextCursor()).isNull();
+
+		List<UserResponseDto> users = new ArrayList<>(first.getContent());
+		users.addAll(second.getContent());
 		assertThat(users).extracting("userId")
 				.containsExactlyInAnyOrder("user1", "user2", "user3");
+		assertThat(users).extracting(UserResponseDto::getId).isSorted();
 	}
 
 	@Test
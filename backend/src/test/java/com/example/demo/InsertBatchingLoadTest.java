@@ -0,0 +1,98 @@
+package com.example.demo;
+
+import com.example.demo.domain.Comment;
+import com.example.demo.domain.Post;
+import com.example.demo.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC 배치 전후 INSERT 처리량 비교 (./gradlew loadTest 로만 실행).
+ * batch_size=1 은 IDENTITY 시절처럼 INSERT 를 한 건씩 보내는 경우이고, batch_size=50 은 @TsidId 로 바뀐 현재 설정이다.
+ * 기본은 H2 메모리 DB 이며, -Dloadtest.datasource.url=jdbc:mysql://...&rewriteBatchedStatements=true
+ * (와 username/password) 를 주면 MySQL 에서 multi-row INSERT 효과까지 측정한다.
+ */
+@Tag("load")
+class InsertBatchingLoadTest {
+
+    private static final int COMMENTS = 20_000;
+    private static final int CHUNK = 500;
+
+    @Test
+    @DisplayName("배치 INSERT 는 PreparedStatement 실행 횟수를 줄이고 처리량을 높임")
+    void batchedInsertsOutperformSingleInserts() {
+        Result single = measure(1);
+        Result batched = measure(50);
+
+        System.out.printf("댓글 %d건 INSERT%n", COMMENTS);
+        System.out.printf("batch_size=1 : %.0f inserts/s (statement %d)%n", single.insertsPerSecond, single.statements);
+        System.out.printf("batch_size=50: %.0f inserts/s (statement %d)%n", batched.insertsPerSecond, batched.statements);
+        assertThat(batched.statements).isLessThan(single.statements / 10);
+    }
+
+    private Result measure(int batchSize) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--spring.datasource.url=" + System.getProperty("loadtest.datasource.url",
+                        "jdbc:h2:mem:batch-" + batchSize + ";DB_CLOSE_DELAY=-1")));
+        if (System.getProperty("loadtest.datasource.username") != null) {
+            args.add("--spring.datasource.username=" + System.getProperty("loadtest.datasource.username"));
+            args.add("--spring.datasource.password=" + System.getProperty("loadtest.datasource.password", ""));
+            args.add("--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run(args.toArray(String[]::new))) {
+            EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+            EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+            TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+            Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+            Long[] ids = tx.execute(status -> {
+                User user = User.builder().userId("batch-" + System.nanoTime()).password("x").name("batch").build();
+                em.persist(user);
+                Post post = Post.builder().title("batch").content("batch").user(user).build();
+                em.persist(post);
+                return new Long[]{user.getId(), post.getId()};
+            });
+
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int from = 0; from < COMMENTS; from += CHUNK) {
+                int count = Math.min(CHUNK, COMMENTS - from);
+                tx.executeWithoutResult(status -> {
+                    User user = em.getReference(User.class, ids[0]);
+                    Post post = em.getReference(Post.class, ids[1]);
+                    for (int i = 0; i < count; i++) {
+                        em.persist(Comment.builder().content("comment " + i).post(post).user(user).build());
+                    }
+                    em.flush();
+                    em.clear();
+                });
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new Result(COMMENTS / seconds, statistics.getPrepareStatementCount());
+        }
+    }
+
+    private record Result(double insertsPerSecond, long statements) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드 모드와 플랫폼 스레드 풀의 처리량 비교 (./gradlew loadTest 로만 실행).
+ * 요청마다 DB 에서 QUERY_LATENCY_MS 만큼 블로킹되는 쿼리(H2 SLEEP 함수)를 실행해 MySQL 대기 시간을 흉내 낸다.
+ * 플랫폼 모드는 톰캣 스레드 50개로 동시 처리 수가 묶이고, 가상 스레드 모드는 커넥션 풀 크기까지 동시에 기다릴 수 있다.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final String SLOW_PATH = "/api/posts/load-test/slow";
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP_REQUESTS = 1_000;
+    private static final int REQUESTS = 8_000;
+    private static final long QUERY_LATENCY_MS = 50;
+
+    @Test
+    @DisplayName("DB 대기가 긴 요청은 가상 스레드 모드가 플랫폼 스레드 풀보다 처리량이 높음")
+    void virtualThreadsOutperformPlatformPool() throws Exception {
+        double platform = measure(false);
+        double virtual = measure(true);
+
+        System.out.printf("동시 %d, 요청 %d, 쿼리 지연 %dms%n", CONCURRENCY, REQUESTS, QUERY_LATENCY_MS);
+        System.out.printf("플랫폼 스레드(max 50): %.0f req/s%n", platform);
+        System.out.printf("가상 스레드:          %.0f req/s%n", virtual);
+        assertThat(virtual).isGreaterThan(platform * 1.5);
+    }
+
+    private double measure(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .initializers(ctx -> registerSlowQueryRoute((GenericApplicationContext) ctx))
+                // 명령행 인자로 넘겨 테스트용 application.properties 보다 우선하게 한다
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=50",
+                        "--server.tomcat.accept-count=" + CONCURRENCY,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + CONCURRENCY,
+                        "--spring.jpa.show-sql=false")) {
+            context.getBean(JdbcTemplate.class)
+                    .execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR 'java.lang.Thread.sleep(long)'");
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + SLOW_PATH);
+
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clientThreads)
+                        .build();
+                fire(client, clientThreads, uri, WARMUP_REQUESTS);
+
+                long start = System.nanoTime();
+                fire(client, clientThreads, uri, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                return REQUESTS / seconds;
+            }
+        }
+    }
+
+    private static void fire(HttpClient client, ExecutorService executor, URI uri, int requests) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(CONCURRENCY);
+        assertThat(failures).hasValue(0);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void registerSlowQueryRoute(GenericApplicationContext context) {
+        context.registerBean("slowQueryRoute", RouterFunction.class, () -> RouterFunctions.route()
+                .GET(SLOW_PATH, request -> {
+                    context.getBean(JdbcTemplate.class).execute("CALL SLEEP_MS(" + QUERY_LATENCY_MS + ")");
+                    return ServerResponse.ok().body("ok");
+                })
+                .build());
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -52,8 +53,7 @@ class JwtAuthenticationFilterTest {
         String authHeader = "Bearer " + token;
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
+        when(jwtUtil.verify(token)).thenReturn(Optional.of(new VerifiedToken(userId, Long.MAX_VALUE)));
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -82,7 +82,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
 
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtUtil, never()).verify(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -99,7 +99,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
 
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtUtil, never()).verify(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -111,7 +111,7 @@ class JwtAuthenticationFilterTest {
         String authHeader = "Bearer " + token;
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(jwtUtil.verify(token)).thenReturn(Optional.empty());
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -120,7 +120,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
 
-        verify(jwtUtil).validateToken(token);
+        verify(jwtUtil).verify(token);
         verify(jwtUtil, never()).getUserIdFromToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -132,7 +132,7 @@ class JwtAuthenticationFilterTest {
         String authHeader = "Bearer ";
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtUtil.validateToken("")).thenReturn(false);
+        when(jwtUtil.verify("")).thenReturn(Optional.empty());
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -164,8 +164,7 @@ class JwtAuthenticationFilterTest {
         String token1 = "token1";
         String userId1 = "user1";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token1);
-        when(jwtUtil.validateToken(token1)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token1)).thenReturn(userId1);
+        when(jwtUtil.verify(token1)).thenReturn(Optional.of(new VerifiedToken(userId1, Long.MAX_VALUE)));
 
         // when - 첫 번째 요청 처리
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -181,8 +180,7 @@ class JwtAuthenticationFilterTest {
         String token2 = "token2";
         String userId2 = "user2";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token2);
-        when(jwtUtil.validateToken(token2)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token2)).thenReturn(userId2);
+        when(jwtUtil.verify(token2)).thenReturn(Optional.of(new VerifiedToken(userId2, Long.MAX_VALUE)));
 
         // when - 두 번째 요청 처리
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
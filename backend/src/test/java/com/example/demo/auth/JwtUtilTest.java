@@ -1,5 +1,6 @@
 package com.example.demo.auth;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,9 @@ class JwtUtilTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private final String testSecretKey = "test-secret-key-minimum-256-bits-long-for-HS256-algorithm-security";
     private final Long testExpiration = 3600000L; // 1시간
 
@@ -184,5 +188,41 @@ class JwtUtilTest {
         // then
         assertThat(isValid).isFalse();
     }
-}
 
+    @Test
+    @DisplayName("한 번 검증한 토큰은 캐시에서 바로 검증됨")
+    void verifiedTokenIsServedFromCache() {
+        // given
+        String token = jwtUtil.generateToken("cacheduser");
+        jwtUtil.verify(token);
+        double hitsBefore = cacheGets("hit");
+
+        // when
+        VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+
+        // then
+        assertThat(verified.userId()).isEqualTo("cacheduser");
+        assertThat(verified.expiresAtMillis()).isGreaterThan(System.currentTimeMillis());
+        assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("캐시된 토큰을 변조하면 캐시를 타지 않고 검증 실패")
+    void tamperedTokenIsNotServedFromCache() {
+        // given
+        String token = jwtUtil.generateToken("cacheduser");
+        assertThat(jwtUtil.verify(token)).isPresent();
+        String tamperedToken = token.substring(0, token.length() - 5) + "XXXXX";
+
+        // when & then
+        assertThat(jwtUtil.verify(tamperedToken)).isEmpty();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.verification")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
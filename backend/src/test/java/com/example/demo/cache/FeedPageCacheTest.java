@@ -0,0 +1,93 @@
+package com.example.demo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedPageCacheTest {
+
+    private final FeedPageCache feedPageCache = new FeedPageCache(new ObjectMapper(), new SimpleMeterRegistry(),
+            3, Duration.ofMinutes(1), DataSize.ofBytes(100));
+
+    @Test
+    @DisplayName("캐시를 채울 때 한 번만 직렬화/압축하고, gzip/deflate 압축본은 원래 JSON 으로 풀림")
+    void compressOncePerFill() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        List<String> titles = List.of("a".repeat(200), "b".repeat(200));
+
+        // when
+        FeedPage first = feedPageCache.get(0, 10, (page, size) -> {
+            loads.incrementAndGet();
+            return titles;
+        });
+        FeedPage second = feedPageCache.get(0, 10, (page, size) -> {
+            loads.incrementAndGet();
+            return titles;
+        });
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(first.gzip().length).isLessThan(first.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(first.json());
+        }
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(first.deflate()))) {
+            assertThat(in.readAllBytes()).isEqualTo(first.json());
+        }
+    }
+
+    @Test
+    @DisplayName("기준 크기보다 작거나 캐시 대상이 아닌 페이지는 압축본을 만들지 않음")
+    void skipSmallOrUncachedPages() {
+        FeedPage small = feedPageCache.get(0, 1, (page, size) -> List.of("x"));
+        FeedPage uncached = feedPageCache.get(5, 10, (page, size) -> List.of("a".repeat(200)));
+        assertThat(small.gzip()).isNull();
+        assertThat(small.deflate()).isNull();
+        assertThat(uncached.gzip()).isNull();
+        assertThat(uncached.deflate()).isNull();
+    }
+
+    @Test
+    @DisplayName("캐시 대상 페이지 수를 넘는 페이지는 매번 새로 읽음")
+    void loadUncachedPagesEveryTime() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        feedPageCache.get(3, 10, (page, size) -> List.of(loads.incrementAndGet()));
+        feedPageCache.get(3, 10, (page, size) -> List.of(loads.incrementAndGet()));
+        feedPageCache.get(2, 10, (page, size) -> List.of(loads.incrementAndGet()));
+        feedPageCache.get(2, 10, (page, size) -> List.of(loads.incrementAndGet()));
+
+        // then
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("무효화하면 새 세대 키로 다시 읽고, 무효화 전 결과는 다시 내려주지 않음")
+    void invalidateStartsNewGeneration() {
+        // given
+        FeedPage before = feedPageCache.get(0, 10, (page, size) -> List.of("before"));
+
+        // when
+        feedPageCache.invalidateAfterCommit();
+        FeedPage after = feedPageCache.get(0, 10, (page, size) -> List.of("after"));
+
+        // then
+        assertThat(after).isNotSameAs(before);
+        assertThat(new String(after.json())).isEqualTo("[\"after\"]");
+    }
+}
@@ -4,6 +4,7 @@ import com.example.demo.dto.UserRequestDto;
 import com.example.demo.dto.UserResponseDto;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.service.UserService;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +12,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
 @SpringBootTest
@@ -57,16 +68,25 @@ class UserControllerTest {
         return sb.toString();
     }
 
+    // 로그인/회원가입은 CompletableFuture를 반환하므로 비동기 디스패치 결과를 검증한다.
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     @DisplayName("POST /api/register - 회원가입 성공")
     void registerSuccess() throws Exception {
-        mockMvc.perform(post("/api/register")
+        performAsync(post("/api/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(toJson("testuser", "password123", "테스트유저")))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.userId").value("testuser"))
                 .andExpect(jsonPath("$.name").value("테스트유저"))
-                .andExpect(jsonPath("$.id").isNumber());
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.token").isNotEmpty());
     }
 
     @Test
@@ -93,7 +113,7 @@ class UserControllerTest {
                 .name("테스트유저")
                 .build());
 
-        mockMvc.perform(post("/api/login")
+        performAsync(post("/api/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(toJson("testuser", "password123", null)))
                 .andExpect(status().isOk())
@@ -120,14 +140,14 @@ class UserControllerTest {
                 .name("테스트유저")
                 .build());
 
-        mockMvc.perform(post("/api/login")
+        performAsync(post("/api/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(toJson("testuser", "wrongpassword", null)))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
-    @DisplayName("GET /api/users - 모든 사용자 조회")
+    @DisplayName("GET /api/users - 사용자 목록 페이지 조회")
     void getAllUsers() throws Exception {
         userService.register(UserRequestDto.builder()
                 .userId("user1")
@@ -142,8 +162,22 @@ class UserControllerTest {
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[*].userId", containsInAnyOrder("user1", "user2")));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[*].userId", containsInAnyOrder("user1", "user2")))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        // size 보다 많으면 nextCursor 로 다음 페이지를 이어서 조회
+        String first = mockMvc.perform(get("/api/users").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(first, "$.nextCursor");
+
+        mockMvc.perform(get("/api/users").param("cursor", nextCursor).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(false));
     }
 
     @Test
@@ -174,7 +208,7 @@ class UserControllerTest {
     @DisplayName("회원가입 → 로그인 → 조회 통합 시나리오")
     void fullUserFlowScenario() throws Exception {
         // 1. 회원가입
-        mockMvc.perform(post("/api/register")
+        performAsync(post("/api/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(toJson("testuser", "password123", "테스트유저")))
                 .andExpect(status().isOk());
@@ -182,7 +216,7 @@ class UserControllerTest {
         UserResponseDto registeredUser = userService.findByUserId("testuser");
 
         // 2. 로그인
-        mockMvc.perform(post("/api/login")
+        performAsync(post("/api/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(toJson("testuser", "password123", null)))
@@ -198,8 +232,8 @@ class UserControllerTest {
         // 4. 전체 사용자 목록 조회
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].userId").value("testuser"));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].userId").value("testuser"));
     }
 }
 
@@ -0,0 +1,61 @@
+package com.example.demo.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TsidGeneratorTest {
+
+    private static final long JS_MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    @Test
+    @DisplayName("id 는 계속 증가하고 JavaScript 안전 정수 범위 안에 있음")
+    void monotonicAndJsSafe() {
+        long previous = TsidGenerator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = TsidGenerator.nextId();
+            assertThat(id).isGreaterThan(previous).isLessThanOrEqualTo(JS_MAX_SAFE_INTEGER);
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("id 상위 비트는 생성 시각(밀리초)")
+    void timeOrdered() {
+        long before = System.currentTimeMillis();
+        long id = TsidGenerator.nextId();
+        long millis = (id >>> (TsidGenerator.NODE_BITS + TsidGenerator.SEQUENCE_BITS)) + TsidGenerator.EPOCH_MILLIS;
+
+        // 같은 밀리초에 256 개를 넘으면 다음 밀리초를 당겨 쓰므로 약간 앞설 수 있다
+        assertThat(millis).isBetween(before, System.currentTimeMillis() + 1_000);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 만들어도 중복 없음")
+    void uniqueAcrossThreads() throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(TsidGenerator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertThat(ids).hasSize(8 * 20_000);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.User;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 테스트 설정에서는 2차 캐시가 꺼져 있으므로 이 테스트에서만 켠다.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userService.register(UserRequestDto.builder()
+                .userId("cached")
+                .password("password123")
+                .name("캐시 사용자")
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("userId 조회는 한 번 읽은 뒤에는 쿼리 없이 2차 캐시에서 찾음")
+    void findByUserIdHitsCache() {
+        // given
+        userRepository.findByUserId("cached");
+        statistics.clear();
+
+        // when
+        User user = userRepository.findByUserId("cached").orElseThrow();
+
+        // then
+        assertThat(user.getName()).isEqualTo("캐시 사용자");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("이름을 바꾸면 캐시된 사용자도 갱신")
+    void updateRefreshesCache() {
+        // given
+        userRepository.findByUserId("cached");
+
+        // when
+        userService.updateUser(UserRequestDto.builder().userId("cached").name("새 이름").build());
+
+        // then
+        assertThat(userRepository.findByUserId("cached").orElseThrow().getName()).isEqualTo("새 이름");
+    }
+
+    @Test
+    @DisplayName("없는 userId 는 빈 값")
+    void findMissingUser() {
+        assertThat(userRepository.findByUserId("nobody")).isEmpty();
+    }
+}
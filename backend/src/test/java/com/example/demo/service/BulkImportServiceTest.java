@@ -0,0 +1,188 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Comment;
+import com.example.demo.domain.Post;
+import com.example.demo.dto.BulkCommentRequestDto;
+import com.example.demo.dto.BulkItemResultDto;
+import com.example.demo.dto.BulkResultDto;
+import com.example.demo.dto.CommentRequestDto;
+import com.example.demo.dto.PostRequestDto;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.repository.CommentRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"bulk.chunk-size=3", "bulk.max-items=8"})
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userService.register(UserRequestDto.builder()
+                .userId("importer")
+                .password("password123")
+                .name("이관 도구")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("게시글 일괄 작성: 청크를 넘나들며 저장하고 잘못된 항목만 실패로 보고")
+    void importPosts() {
+        // given
+        List<PostRequestDto> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(new PostRequestDto(i == 3 ? " " : "제목" + i, "내용" + i, null));
+        }
+
+        // when
+        BulkResultDto result = bulkImportService.importPosts("importer", items.iterator());
+
+        // then
+        assertThat(result.getCreated()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems()).extracting(BulkItemResultDto::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.getItems().get(3).getStatus()).isEqualTo(BulkItemResultDto.Status.FAILED);
+        assertThat(postRepository.count()).isEqualTo(4);
+
+        Post saved = postRepository.findById(result.getItems().get(4).getId()).orElseThrow();
+        assertThat(saved.getTitle()).isEqualTo("제목4");
+        assertThat(saved.getExcerpt()).isEqualTo("내용4");
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 작성: 없는 게시글/다른 게시글의 부모는 실패, 댓글 수와 답글 수는 합산해 반영")
+    void importComments() {
+        // given
+        Long postA = postService.createPost("importer", new PostRequestDto("A", "내용", null));
+        Long postB = postService.createPost("importer", new PostRequestDto("B", "내용", null));
+        Long parent = commentService.createComment("importer", postA, new CommentRequestDto("부모", null)).getId();
+
+        List<BulkCommentRequestDto> items = List.of(
+                new BulkCommentRequestDto(postA, null, "a1"),
+                new BulkCommentRequestDto(postA, parent, "a2"),
+                new BulkCommentRequestDto(-1L, null, "없는 게시글"),
+                new BulkCommentRequestDto(postB, null, "b1"),
+                new BulkCommentRequestDto(postB, parent, "다른 게시글의 부모"),
+                new BulkCommentRequestDto(postA, parent, "a3"));
+
+        // when
+        BulkResultDto result = bulkImportService.importComments("importer", items.iterator());
+
+        // then
+        assertThat(result.getCreated()).isEqualTo(4);
+        assertThat(result.getItems()).extracting(BulkItemResultDto::getStatus).containsExactly(
+                BulkItemResultDto.Status.CREATED, BulkItemResultDto.Status.CREATED, BulkItemResultDto.Status.FAILED,
+                BulkItemResultDto.Status.CREATED, BulkItemResultDto.Status.FAILED, BulkItemResultDto.Status.CREATED);
+
+        assertThat(postRepository.findById(postA).orElseThrow().getCommentCount()).isEqualTo(4);
+        assertThat(postRepository.findById(postB).orElseThrow().getCommentCount()).isEqualTo(1);
+        Comment parentComment = commentRepository.findById(parent).orElseThrow();
+        assertThat(parentComment.getReplyCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘는 항목은 읽지 않고 실패 하나로 보고")
+    void stopAtMaxItems() {
+        // given
+        List<PostRequestDto> items = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            items.add(new PostRequestDto("제목" + i, "내용" + i, null));
+        }
+
+        // when
+        BulkResultDto result = bulkImportService.importPosts("importer", items.iterator());
+
+        // then
+        assertThat(result.getCreated()).isEqualTo(8);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(8).getIndex()).isEqualTo(8);
+        assertThat(postRepository.count()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("NDJSON 중간의 잘못된 줄은 실패로 기록하고 멈추되, 앞 항목은 저장하고 결과를 돌려줌")
+    void stopAtMalformedLine() throws Exception {
+        // given: 청크 크기 3 이므로 첫 청크(0~2)는 잘못된 줄을 읽기 전에 이미 저장된다
+        String body = """
+                {"title":"제목0","content":"내용0"}
+                {"title":"제목1","content":"내용1"}
+                {"title":"제목2","content":"내용2"}
+                {"title":"제목3","content":"내용3"}
+                {"title":"제목4",
+                {"title":"제목5","content":"내용5"}
+                """;
+
+        // when
+        BulkResultDto result;
+        try (MappingIterator<PostRequestDto> items = objectMapper.readerFor(PostRequestDto.class).readValues(body)) {
+            result = bulkImportService.importPosts("importer", items);
+        }
+
+        // then
+        assertThat(result.getCreated()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(4).getIndex()).isEqualTo(4);
+        assertThat(result.getItems().get(4).getStatus()).isEqualTo(BulkItemResultDto.Status.FAILED);
+        assertThat(postRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("JSON 배열도 같은 방식으로 원소를 하나씩 흘려 읽음")
+    void importJsonArray() throws Exception {
+        // given
+        String body = "[{\"title\":\"제목0\",\"content\":\"내용0\"},{\"title\":\"제목1\",\"content\":\"내용1\"}]";
+
+        // when
+        BulkResultDto result;
+        try (MappingIterator<PostRequestDto> items = objectMapper.readerFor(PostRequestDto.class).readValues(body)) {
+            result = bulkImportService.importPosts("importer", items);
+        }
+
+        // then
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThat(postRepository.count()).isEqualTo(2);
+    }
+}
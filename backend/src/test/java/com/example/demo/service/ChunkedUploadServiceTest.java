@@ -0,0 +1,201 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChunkedUploadStatusDto;
+import com.example.demo.exception.UploadConflictException;
+import com.example.demo.repository.FileBlobRepository;
+import com.example.demo.repository.FileRefRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private FileRefRepository fileRefRepository;
+
+    private FileStorageService fileStorageService;
+    private ChunkedUploadService chunkedUploadService;
+
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString(), fileBlobRepository, fileRefRepository);
+        chunkedUploadService = new ChunkedUploadService(fileStorageService,
+                DataSize.ofMegabytes(10), DataSize.ofBytes(CHUNK_SIZE), Duration.ofHours(1),
+                2, DataSize.ofMegabytes(2));
+        content = new byte[CHUNK_SIZE * 2 + 1000];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    @DisplayName("조각을 순서와 상관없이 받아 완료하면 해시 이름으로 저장")
+    void uploadChunksOutOfOrder() throws Exception {
+        // given
+        ChunkedUploadStatusDto init = chunkedUploadService.init("user1", "big.bin", content.length, null);
+        assertThat(init.getTotalChunks()).isEqualTo(3);
+        assertThat(init.getMissingChunks()).containsExactly(0, 1, 2);
+
+        // when
+        upload(init.getUploadId(), 2);
+        upload(init.getUploadId(), 0);
+        ChunkedUploadStatusDto status = upload(init.getUploadId(), 1);
+        String fileName = chunkedUploadService.complete("user1", init.getUploadId()).fileName();
+
+        // then
+        assertThat(status.getMissingChunks()).isEmpty();
+        assertThat(fileName).isEqualTo(sha256(content) + ".bin");
+        assertThat(Files.readAllBytes(fileStorageService.resolve(fileName))).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("체크섬이 맞지 않는 조각은 받은 것으로 기록하지 않음")
+    void rejectChunkWithWrongChecksum() throws Exception {
+        // given
+        ChunkedUploadStatusDto init = chunkedUploadService.init("user1", "big.bin", content.length, null);
+        byte[] chunk = chunk(0);
+
+        // when & then
+        assertThatThrownBy(() -> chunkedUploadService.writeChunk("user1", init.getUploadId(), 0,
+                sha256(new byte[]{1}), new ByteArrayInputStream(chunk)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(chunkedUploadService.status("user1", init.getUploadId()).getMissingChunks()).contains(0);
+    }
+
+    @Test
+    @DisplayName("빠진 조각이 있으면 완료 불가, 빠진 조각만 다시 보내면 완료")
+    void resumeAfterInterruption() throws Exception {
+        // given
+        ChunkedUploadStatusDto init = chunkedUploadService.init("user1", "big.bin", content.length, null);
+        upload(init.getUploadId(), 0);
+        upload(init.getUploadId(), 2);
+
+        // when & then
+        assertThatThrownBy(() -> chunkedUploadService.complete("user1", init.getUploadId()))
+                .isInstanceOf(UploadConflictException.class);
+        assertThat(chunkedUploadService.status("user1", init.getUploadId()).getMissingChunks()).containsExactly(1);
+
+        upload(init.getUploadId(), 1);
+        assertThat(chunkedUploadService.complete("user1", init.getUploadId()).fileName()).startsWith(sha256(content));
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 업로드 세션에는 접근 불가")
+    void rejectOtherOwner() {
+        // given
+        ChunkedUploadStatusDto init = chunkedUploadService.init("user1", "big.bin", content.length, null);
+
+        // when & then
+        assertThatThrownBy(() -> chunkedUploadService.status("user2", init.getUploadId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("같은 조각을 받는 중에 들어온 요청은 충돌로 거부하고, 먼저 온 요청은 그대로 완료")
+    void rejectConcurrentSameChunk() throws Exception {
+        // given: 첫 요청이 본문을 읽기 시작한 채로 멈춰 있다
+        ChunkedUploadStatusDto init = chunkedUploadService.init("user1", "big.bin", content.length, null);
+        byte[] chunk = chunk(0);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowBody = new ByteArrayInputStream(chunk) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                reading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b, off, len);
+            }
+        };
+        CompletableFuture<ChunkedUploadStatusDto> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return chunkedUploadService.writeChunk("user1", init.getUploadId(), 0, sha256(chunk), slowBody);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when & then
+        assertThatThrownBy(() -> upload(init.getUploadId(), 0))
+                .isInstanceOf(UploadConflictException.class);
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS).getMissingChunks()).containsExactly(1, 2);
+        // 끝난 뒤에는 같은 조각을 다시 보낼 수 있다
+        assertThat(upload(init.getUploadId(), 0).getMissingChunks()).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("사용자당 진행 중인 세션 수를 넘으면 거부하고, 세션을 끝내면 다시 시작 가능")
+    void limitSessionsPerUser() {
+        // given
+        ChunkedUploadStatusDto first = chunkedUploadService.init("user1", "a.bin", 1000, null);
+        chunkedUploadService.init("user1", "b.bin", 1000, null);
+
+        // when & then
+        assertThatThrownBy(() -> chunkedUploadService.init("user1", "c.bin", 1000, null))
+                .isInstanceOf(UploadConflictException.class);
+        assertThat(chunkedUploadService.init("user2", "c.bin", 1000, null).getUploadId()).isNotBlank();
+
+        chunkedUploadService.abort("user1", first.getUploadId());
+        assertThat(chunkedUploadService.init("user1", "c.bin", 1000, null).getUploadId()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("사용자당 미리 잡은 임시 파일 크기 합계를 넘으면 거부")
+    void limitReservedBytesPerUser() {
+        // given
+        chunkedUploadService.init("user1", "a.bin", DataSize.ofKilobytes(1536).toBytes(), null);
+
+        // when & then
+        assertThatThrownBy(() -> chunkedUploadService.init("user1", "b.bin", DataSize.ofMegabytes(1).toBytes(), null))
+                .isInstanceOf(UploadConflictException.class);
+    }
+
+    private ChunkedUploadStatusDto upload(String uploadId, int index) throws Exception {
+        byte[] chunk = chunk(index);
+        return chunkedUploadService.writeChunk("user1", uploadId, index, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private byte[] chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return Arrays.copyOfRange(content, from, Math.min(content.length, from + CHUNK_SIZE));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
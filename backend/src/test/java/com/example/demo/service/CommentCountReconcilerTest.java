@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CommentRequestDto;
+import com.example.demo.dto.PostRequestDto;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.repository.CommentRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "comment.count.reconcile-batch-size=2")
+class CommentCountReconcilerTest {
+
+    @Autowired
+    private CommentCountReconciler reconciler;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long postId;
+    private Long otherPostId;
+    private Long parentId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userService.register(UserRequestDto.builder()
+                .userId("writer")
+                .password("password123")
+                .name("작성자")
+                .build());
+        postId = postService.createPost("writer", new PostRequestDto("제목", "내용", null));
+        otherPostId = postService.createPost("writer", new PostRequestDto("다른 제목", "내용", null));
+        parentId = commentService.createComment("writer", postId, new CommentRequestDto("부모", null)).getId();
+        commentService.createComment("writer", postId, new CommentRequestDto("답글", parentId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("어긋난 게시글 댓글 수만 실제 댓글 수로 고침")
+    void reconcilePostCounts() {
+        // given
+        transactionTemplate.executeWithoutResult(status -> postRepository.setCommentCount(postId, 7));
+
+        // when
+        long repaired = reconciler.reconcilePostCounts();
+
+        // then
+        assertThat(repaired).isEqualTo(1);
+        assertThat(postRepository.findById(postId).orElseThrow().getCommentCount()).isEqualTo(2);
+        assertThat(postRepository.findById(otherPostId).orElseThrow().getCommentCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("어긋난 답글 수만 실제 직계 답글 수로 고침")
+    void reconcileReplyCounts() {
+        // given
+        transactionTemplate.executeWithoutResult(status -> commentRepository.setReplyCount(parentId, 0));
+
+        // when
+        long repaired = reconciler.reconcileReplyCounts();
+
+        // then
+        assertThat(repaired).isEqualTo(1);
+        assertThat(commentRepository.findById(parentId).orElseThrow().getReplyCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("게시글 수정이 그 사이 커밋된 댓글 수 증가를 덮어쓰지 않음")
+    void updatePostKeepsConcurrentCommentCount() {
+        // when: 수정 트랜잭션이 게시글을 읽은 뒤, 커밋하기 전에 다른 트랜잭션에서 댓글이 작성된다
+        transactionTemplate.executeWithoutResult(status -> {
+            postService.updatePost("writer", otherPostId, new PostRequestDto("수정된 제목", "수정된 내용", null));
+            CompletableFuture.runAsync(() ->
+                            commentService.createComment("writer", otherPostId, new CommentRequestDto("동시 댓글", null)))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+        });
+
+        // then
+        assertThat(postRepository.findById(otherPostId).orElseThrow())
+                .satisfies(post -> {
+                    assertThat(post.getTitle()).isEqualTo("수정된 제목");
+                    assertThat(post.getCommentCount()).isEqualTo(1);
+                });
+    }
+}
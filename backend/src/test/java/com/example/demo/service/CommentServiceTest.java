@@ -1,13 +1,16 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.PostDetailCache;
 import com.example.demo.domain.Comment;
 import com.example.demo.domain.Post;
 import com.example.demo.domain.User;
 import com.example.demo.dto.CommentRequestDto;
 import com.example.demo.dto.CommentResponseDto;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.repository.CommentRepository;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.FeedCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,13 +18,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +44,9 @@ class CommentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PostDetailCache postDetailCache;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -83,6 +94,8 @@ class CommentServiceTest {
         assertThat(responseDto.getContent()).isEqualTo("Test Comment");
         assertThat(responseDto.getAuthorName()).isEqualTo("Test User");
         verify(commentRepository).save(any(Comment.class));
+        verify(postRepository).adjustCommentCount(1L, 1);
+        verify(commentRepository, never()).adjustReplyCount(any(), anyLong());
     }
 
     @Test
@@ -109,5 +122,67 @@ class CommentServiceTest {
         // then
         assertThat(responseDto.getContent()).isEqualTo("Reply Comment");
         assertThat(responseDto.getParentId()).isEqualTo(1L);
+        verify(postRepository).adjustCommentCount(1L, 1);
+        verify(commentRepository).adjustReplyCount(1L, 1);
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 시 함께 지워지는 하위 답글 수까지 게시글 댓글 수에서 뺌")
+    void deleteCommentWithDescendants() {
+        // given
+        given(commentRepository.findById(1L)).willReturn(Optional.of(comment));
+        given(commentRepository.findIdsByParentIdIn(List.of(1L))).willReturn(List.of(2L, 3L));
+        given(commentRepository.findIdsByParentIdIn(List.of(2L, 3L))).willReturn(List.of(4L));
+        given(commentRepository.findIdsByParentIdIn(List.of(4L))).willReturn(List.of());
+
+        // when
+        commentService.deleteComment("testuser", 1L);
+
+        // then
+        verify(commentRepository).delete(comment);
+        verify(postRepository).adjustCommentCount(1L, -4L);
+        verify(commentRepository, never()).adjustReplyCount(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("댓글 트리 조회 - 부모에 자식이 중첩됨")
+    void getCommentTree() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        given(commentRepository.findTreeRowsByPostId(1L)).willReturn(List.of(
+                new CommentResponseDto(1L, "root", "Test User", null, now),
+                new CommentResponseDto(2L, "reply", "Test User", 1L, now.plusSeconds(1)),
+                new CommentResponseDto(3L, "reply of reply", "Test User", 2L, now.plusSeconds(2)),
+                new CommentResponseDto(4L, "another root", "Test User", null, now.plusSeconds(3))));
+
+        // when
+        List<CommentResponseDto> roots = commentService.getCommentTree(1L);
+
+        // then
+        assertThat(roots).extracting("id").containsExactly(1L, 4L);
+        CommentResponseDto reply = roots.get(0).getChildren().get(0);
+        assertThat(reply.getId()).isEqualTo(2L);
+        assertThat(reply.getChildren()).extracting("id").containsExactly(3L);
+        assertThat(roots.get(1).getChildren()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("루트 댓글 페이지 조회 - 답글 수와 다음 커서 포함")
+    void getRootComments() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        given(commentRepository.findRootPage(eq(1L), any(Limit.class))).willReturn(List.of(
+                new CommentResponseDto(1L, "root1", "Test User", null, now, 5L),
+                new CommentResponseDto(2L, "root2", "Test User", null, now.plusSeconds(1), 0L),
+                new CommentResponseDto(3L, "root3", "Test User", null, now.plusSeconds(2), 0L)));
+
+        // when
+        CursorSliceDto<CommentResponseDto> slice = commentService.getRootComments(1L, null, 2);
+
+        // then
+        assertThat(slice.getContent()).extracting("id").containsExactly(1L, 2L);
+        assertThat(slice.getContent()).extracting("replyCount").containsExactly(5L, 0L);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(FeedCursor.decode(slice.getNextCursor())).isEqualTo(new FeedCursor(now.plusSeconds(1), 2L));
     }
 }
@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CommentRequestDto;
+import com.example.demo.dto.PostRequestDto;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "export.fetch-size=2")
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> postIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userService.register(UserRequestDto.builder()
+                .userId("writer")
+                .password("password123")
+                .name("작성자")
+                .build());
+        for (int i = 0; i < 3; i++) {
+            postIds.add(postService.createPost("writer", new PostRequestDto("제목" + i, "내용" + i, null)));
+        }
+        // 첫 게시글에는 댓글이 없고, 두 번째에 2개, 세 번째에 1개
+        commentService.createComment("writer", postIds.get(1), new CommentRequestDto("댓글1", null));
+        commentService.createComment("writer", postIds.get(1), new CommentRequestDto("댓글2", null));
+        commentService.createComment("writer", postIds.get(2), new CommentRequestDto("댓글3", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("게시글을 id 순 NDJSON 으로 쓰고, 댓글은 속한 게시글 줄 바로 뒤에 병합")
+    void writePostsWithComments() throws Exception {
+        // when
+        List<JsonNode> lines = export(null, true);
+
+        // then
+        assertThat(lines).extracting(line -> line.get("type").asText())
+                .containsExactly("post", "post", "comment", "comment", "post", "comment");
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(postIds.get(0));
+        assertThat(lines.get(2).get("postId").asLong()).isEqualTo(postIds.get(1));
+        assertThat(lines.get(5).get("content").asText()).isEqualTo("댓글3");
+        assertThat(lines.get(1).get("authorUserId").asText()).isEqualTo("writer");
+    }
+
+    @Test
+    @DisplayName("afterId 로 마지막으로 받은 게시글 다음부터 이어서 내보냄")
+    void resumeAfterId() throws Exception {
+        // when
+        List<JsonNode> lines = export(postIds.get(1), false);
+
+        // then
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(postIds.get(2));
+    }
+
+    @Test
+    @DisplayName("사용자 내보내기는 id, userId, name 만 id 순으로 씀")
+    void writeUsers() throws Exception {
+        // given
+        userService.register(UserRequestDto.builder()
+                .userId("reader")
+                .password("password123")
+                .name("독자")
+                .build());
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeUsers(out, null);
+        List<JsonNode> lines = parse(out);
+
+        // then
+        assertThat(lines).extracting(line -> line.get("userId").asText()).containsExactly("writer", "reader");
+        assertThat(lines.get(0).has("password")).isFalse();
+        assertThat(lines.get(0).has("token")).isFalse();
+        assertThat(lines.get(0).get("name").asText()).isEqualTo("작성자");
+    }
+
+    private List<JsonNode> export(Long afterId, boolean includeComments) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writePosts(out, afterId, includeComments);
+        return parse(out);
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
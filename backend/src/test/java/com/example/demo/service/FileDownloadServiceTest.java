@@ -0,0 +1,170 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadServiceTest {
+
+    private static final String CONTENT = "0123456789";
+    private static final String HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path uploadDir;
+
+    private final FileDownloadService fileDownloadService = new FileDownloadService();
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(uploadDir.resolve(HASH + ".txt"), CONTENT);
+    }
+
+    @Test
+    @DisplayName("Range 없으면 전체를 200 으로 보내고 immutable 캐시와 ETag 를 붙임")
+    void serveWhole() throws Exception {
+        // when
+        MockHttpServletResponse response = serve(request());
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + HASH + "\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(FileDownloadService.CACHE_CONTROL_IMMUTABLE);
+    }
+
+    @Test
+    @DisplayName("단일 Range 는 206 과 Content-Range 로 해당 구간만 보냄")
+    void serveSingleRange() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    @DisplayName("다중 Range 는 multipart/byteranges 로 구간마다 나눠 보냄")
+    void serveMultipleRanges() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,7-");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        assertThat(response.getContentAsString())
+                .contains("Content-Range: bytes 0-1/10\r\n\r\n01")
+                .contains("Content-Range: bytes 7-9/10\r\n\r\n789");
+    }
+
+    @Test
+    @DisplayName("파일 길이를 넘는 Range 는 416")
+    void rejectUnsatisfiableRange() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 Range 는 무시하고 전체를 200 으로 보냄")
+    void ignoreMalformedRange() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=abc");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("범위 길이 합이 파일보다 크면 Range 를 무시하고 전체를 200 으로 보냄")
+    void ignoreOverlappingRanges() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9,0-9,0-9");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 ETag 와 같으면 본문 없이 304")
+    void notModified() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체를 200 으로 보냄")
+    void ignoreRangeWhenIfRangeMismatches() throws Exception {
+        // given
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        // when
+        MockHttpServletResponse response = serve(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/files/" + HASH + ".txt");
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadService.serve(request, response, file, HASH + ".txt", "text/plain", HASH,
+                CONTENT.length(), LAST_MODIFIED);
+        return response;
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.FileBlob;
+import com.example.demo.domain.FileRef;
+import com.example.demo.exception.StoredFileNotFoundException;
+import com.example.demo.repository.FileBlobRepository;
+import com.example.demo.repository.FileRefRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceTest {
+
+    // "hello" 의 SHA-256
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private FileRefRepository fileRefRepository;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString(), fileBlobRepository, fileRefRepository);
+    }
+
+    @Test
+    @DisplayName("새 내용 업로드 시 해시 이름으로 저장하고 참조 수 1로 등록")
+    void storeNewContent() throws Exception {
+        // given
+        given(fileBlobRepository.incrementRefCount(HELLO_HASH)).willReturn(0);
+
+        // when
+        String fileName = fileStorageService.storeFile(image("cat.PNG", "hello"), "user1");
+
+        // then
+        assertThat(fileName).isEqualTo(HELLO_HASH + ".png");
+        assertThat(Files.readString(uploadDir.resolve("2c/f2").resolve(fileName))).isEqualTo("hello");
+        verify(fileBlobRepository).saveAndFlush(any(FileBlob.class));
+        try (var files = Files.list(uploadDir.resolve(".tmp"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("이미 있는 내용 업로드 시 기존 파일명을 반환하고 참조 수만 증가")
+    void storeDuplicateContent() throws Exception {
+        // given
+        FileBlob existing = FileBlob.builder().hash(HELLO_HASH).fileName(HELLO_HASH + ".jpg").refCount(2L).build();
+        given(fileBlobRepository.incrementRefCount(HELLO_HASH)).willReturn(1);
+        given(fileBlobRepository.findByHash(HELLO_HASH)).willReturn(Optional.of(existing));
+
+        // when
+        String fileName = fileStorageService.storeFile(image("copy.png", "hello"), "user2");
+
+        // then
+        assertThat(fileName).isEqualTo(HELLO_HASH + ".jpg");
+        assertThat(uploadDir.resolve(HELLO_HASH + ".png")).doesNotExist();
+        verify(fileBlobRepository, never()).saveAndFlush(any(FileBlob.class));
+        ArgumentCaptor<FileRef> ref = ArgumentCaptor.forClass(FileRef.class);
+        verify(fileRefRepository).save(ref.capture());
+        assertThat(ref.getValue().getOwner()).isEqualTo("user2");
+        assertThat(ref.getValue().getFileName()).isEqualTo(HELLO_HASH + ".jpg");
+    }
+
+    @Test
+    @DisplayName("원시 스트림 저장 시 크기와 매직 바이트 형식을 함께 계산하고 확장자를 정함")
+    void storeStreamSniffsContentType() throws Exception {
+        // given
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13, 'I', 'H', 'D', 'R', 1, 2, 3};
+
+        // when
+        StoredFile stored = fileStorageService.store(new ByteArrayInputStream(png), null, 1024, "user1");
+
+        // then
+        assertThat(stored.contentType()).isEqualTo("image/png");
+        assertThat(stored.size()).isEqualTo(png.length);
+        assertThat(stored.fileName()).endsWith(".png");
+        assertThat(Files.readAllBytes(fileStorageService.resolve(stored.fileName()))).isEqualTo(png);
+    }
+
+    @Test
+    @DisplayName("원시 스트림이 최대 크기를 넘으면 저장하지 않음")
+    void storeStreamRejectsOversized() throws Exception {
+        // when & then
+        assertThatThrownBy(() -> fileStorageService.store(new ByteArrayInputStream(new byte[2048]), "a.bin", 1024, "user1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(fileBlobRepository, never()).incrementRefCount(any());
+        verify(fileRefRepository, never()).save(any());
+        try (var files = Files.list(uploadDir.resolve(".tmp"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("해시 이름 파일의 메타데이터는 업로드 때 기록한 행에서 읽고 캐시함")
+    void metadataFromBlobRow() {
+        // given
+        String fileName = HELLO_HASH + ".png";
+        FileBlob blob = FileBlob.builder().hash(HELLO_HASH).fileName(fileName).refCount(1L)
+                .size(5L).contentType("image/png").createdAt(LocalDateTime.of(2024, 1, 1, 0, 0)).build();
+        given(fileBlobRepository.findByFileName(fileName)).willReturn(Optional.of(blob));
+
+        // when
+        FileMetadata first = fileStorageService.metadata(fileName);
+        FileMetadata second = fileStorageService.metadata(fileName);
+
+        // then
+        assertThat(first.size()).isEqualTo(5L);
+        assertThat(first.contentType()).isEqualTo("image/png");
+        assertThat(first.contentHash()).isEqualTo(HELLO_HASH);
+        assertThat(second).isSameAs(first);
+        verify(fileBlobRepository, times(1)).findByFileName(fileName);
+    }
+
+    @Test
+    @DisplayName("기록이 없는 이전 파일은 한 번 읽어 형식을 판별하고, 없는 파일은 null")
+    void metadataForLegacyFile() throws Exception {
+        // given
+        String fileName = "0f8fad5b-d9cb-469f-a165-70867728950e.gif";
+        write(uploadDir.resolve(fileName), "GIF89a....");
+
+        // when
+        FileMetadata metadata = fileStorageService.metadata(fileName);
+
+        // then
+        assertThat(metadata.contentType()).isEqualTo("image/gif");
+        assertThat(metadata.size()).isEqualTo(10L);
+        assertThat(fileStorageService.metadata("0f8fad5b-missing.gif")).isNull();
+    }
+
+    @Test
+    @DisplayName("참조가 남아 있으면 파일을 지우지 않음")
+    void deleteKeepsSharedFile() throws Exception {
+        // given
+        String fileName = HELLO_HASH + ".png";
+        Path stored = write(uploadDir.resolve("2c/f2").resolve(fileName), "hello");
+        FileRef ref = FileRef.builder().id(1L).owner("user1").fileName(fileName).build();
+        given(fileRefRepository.findFirstByOwnerAndFileName("user1", fileName)).willReturn(Optional.of(ref));
+        given(fileBlobRepository.deleteUnreferenced(fileName)).willReturn(0);
+
+        // when
+        fileStorageService.deleteFile("user1", fileName);
+
+        // then
+        assertThat(stored).exists();
+        verify(fileRefRepository).delete(ref);
+        verify(fileBlobRepository).decrementRefCount(fileName);
+    }
+
+    @Test
+    @DisplayName("마지막 참조 삭제 시 파일도 삭제")
+    void deleteLastReference() throws Exception {
+        // given
+        String fileName = HELLO_HASH + ".png";
+        Path stored = write(uploadDir.resolve("2c/f2").resolve(fileName), "hello");
+        FileRef ref = FileRef.builder().id(1L).owner("user1").fileName(fileName).build();
+        given(fileRefRepository.findFirstByOwnerAndFileName("user1", fileName)).willReturn(Optional.of(ref));
+        given(fileBlobRepository.deleteUnreferenced(fileName)).willReturn(1);
+
+        // when
+        fileStorageService.deleteFile("user1", fileName);
+
+        // then
+        assertThat(stored).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("자기 참조가 없는 파일은 참조 수를 건드리지 않고 찾을 수 없음으로 거부")
+    void deleteWithoutOwnReference() throws Exception {
+        // given
+        String fileName = HELLO_HASH + ".png";
+        Path stored = write(uploadDir.resolve("2c/f2").resolve(fileName), "hello");
+        given(fileRefRepository.findFirstByOwnerAndFileName("intruder", fileName)).willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> fileStorageService.deleteFile("intruder", fileName))
+                .isInstanceOf(StoredFileNotFoundException.class);
+        assertThat(stored).exists();
+        verify(fileBlobRepository, never()).decrementRefCount(any());
+        verify(fileRefRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("평면 경로의 이전 파일도 찾고, 샤딩 경로로 옮긴 뒤에도 같은 이름으로 찾음")
+    void resolveLegacyFlatFile() throws Exception {
+        // given
+        String fileName = "0f8fad5b-d9cb-469f-a165-70867728950e.jpg";
+        Path flat = write(uploadDir.resolve(fileName), "legacy");
+
+        // when & then
+        assertThat(fileStorageService.resolve(fileName)).isEqualTo(flat);
+
+        assertThat(fileStorageService.migrateToShard(fileName)).isTrue();
+        Path sharded = uploadDir.resolve("0f/8f").resolve(fileName);
+        assertThat(flat).doesNotExist();
+        assertThat(fileStorageService.resolve(fileName)).isEqualTo(sharded);
+        assertThat(Files.readString(sharded)).isEqualTo("legacy");
+    }
+
+    @Test
+    @DisplayName("샤딩 이전 작업은 batch-size 만큼만 옮김")
+    void shardMigratorMovesOneBatch() throws Exception {
+        // given
+        write(uploadDir.resolve("aaaa1.png"), "1");
+        write(uploadDir.resolve("bbbb2.png"), "2");
+        write(uploadDir.resolve("cccc3.png"), "3");
+        UploadShardMigrator migrator = new UploadShardMigrator(fileStorageService, 2, Duration.ZERO);
+
+        // when & then
+        assertThat(migrator.migrateBatch()).isEqualTo(2);
+        assertThat(migrator.migrateBatch()).isEqualTo(1);
+        assertThat(migrator.migrateBatch()).isZero();
+        assertThat(uploadDir.resolve("cc/cc/cccc3.png")).exists();
+    }
+
+    @Test
+    @DisplayName("업로드 디렉토리 밖을 가리키는 파일명은 거부")
+    void rejectPathTraversal() {
+        assertThatThrownBy(() -> fileStorageService.deleteFile("user1", "../secret.txt"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private MockMultipartFile image(String originalName, String content) {
+        return new MockMultipartFile("file", originalName, "image/png", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
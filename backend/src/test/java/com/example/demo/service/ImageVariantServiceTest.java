@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.FileBlobRepository;
+import com.example.demo.repository.FileRefRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private FileRefRepository fileRefRepository;
+
+    private FileStorageService fileStorageService;
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString(), fileBlobRepository, fileRefRepository);
+        imageVariantService = new ImageVariantService(fileStorageService, new int[]{640, 320, 1280}, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.shutdown();
+    }
+
+    @Test
+    @DisplayName("원본보다 작은 너비의 축소본만 생성하고 비율을 유지")
+    void generateVariants() throws Exception {
+        // given
+        String fileName = "abcd1234.png";
+        writeImage(fileName, 1000, 500);
+
+        // when
+        imageVariantService.generate(fileName);
+
+        // then
+        BufferedImage w320 = ImageIO.read(fileStorageService.resolve("abcd1234_w320.png").toFile());
+        BufferedImage w640 = ImageIO.read(fileStorageService.resolve("abcd1234_w640.png").toFile());
+        assertThat(w320.getWidth()).isEqualTo(320);
+        assertThat(w320.getHeight()).isEqualTo(160);
+        assertThat(w640.getWidth()).isEqualTo(640);
+        assertThat(fileStorageService.resolve("abcd1234_w1280.png")).doesNotExist();
+        verify(fileBlobRepository).updateWidth("abcd1234.png", 1000);
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 파일은 축소본을 만들지 않음")
+    void skipNonImage() throws Exception {
+        // given
+        String fileName = "abcd5678.png";
+        Path path = fileStorageService.resolve(fileName);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "not an image");
+
+        // when
+        imageVariantService.generate(fileName);
+
+        // then
+        assertThat(fileStorageService.resolve("abcd5678_w320.png")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("요청 너비 이상인 가장 작은 축소본을 선택하고, 모두보다 크면 원본")
+    void variantFor() {
+        assertThat(imageVariantService.variantFor("a.jpg", 100, null)).isEqualTo("a_w320.jpg");
+        assertThat(imageVariantService.variantFor("a.jpg", 321, null)).isEqualTo("a_w640.jpg");
+        assertThat(imageVariantService.variantFor("a.jpg", 1280, null)).isEqualTo("a_w1280.jpg");
+        assertThat(imageVariantService.variantFor("a.jpg", 4000, null)).isNull();
+    }
+
+    @Test
+    @DisplayName("원본보다 넓어 만들어지지 않는 축소본 대신 원본을 선택")
+    void variantForNarrowOriginal() {
+        assertThat(imageVariantService.variantFor("a.jpg", 100, 600)).isEqualTo("a_w320.jpg");
+        assertThat(imageVariantService.variantFor("a.jpg", 500, 600)).isNull();
+        assertThat(imageVariantService.variantFor("a.jpg", 320, 320)).isNull();
+    }
+
+    private void writeImage(String fileName, int width, int height) throws Exception {
+        Path path = fileStorageService.resolve(fileName);
+        Files.createDirectories(path.getParent());
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", path.toFile());
+    }
+}
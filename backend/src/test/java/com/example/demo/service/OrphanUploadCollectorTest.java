@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.FileBlobRepository;
+import com.example.demo.repository.FileRefRepository;
+import com.example.demo.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanUploadCollectorTest {
+
+    private static final String HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+
+    @Mock
+    private FileRefRepository fileRefRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FileStorageService fileStorageService;
+    private SimpleMeterRegistry meterRegistry;
+    private OrphanUploadCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString(), fileBlobRepository, fileRefRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new OrphanUploadCollector(fileStorageService, postRepository,
+                new TransactionTemplate(transactionManager), meterRegistry,
+                Duration.ofHours(48), 2, Duration.ZERO, 100);
+    }
+
+    @Test
+    @DisplayName("참조되지 않고 유예 기간이 지난 파일만 삭제하고 회수 용량을 기록")
+    void collectOrphans() throws Exception {
+        // given
+        Path referenced = old(write("abcd-ref.png", "12345"));
+        Path referencedVariant = old(write("abcd-ref_w320.png", "123"));
+        Path orphan = old(write(HASH + ".png", "1234567890"));
+        Path recentOrphan = write("abcd-new.png", "12");
+        Path staleTemp = old(Files.writeString(uploadDir.resolve(".tmp/upload-1.part"), "xyz"));
+        given(postRepository.streamImageUrls())
+                .willReturn(Stream.of("http://localhost:8080/api/files/abcd-ref.png", "https://example.com/cat.png"));
+
+        // when
+        long reclaimed = collector.collectOnce();
+
+        // then
+        assertThat(referenced).exists();
+        assertThat(referencedVariant).exists();
+        assertThat(recentOrphan).exists();
+        assertThat(orphan).doesNotExist();
+        assertThat(staleTemp).doesNotExist();
+        assertThat(reclaimed).isEqualTo(13L);
+        assertThat(meterRegistry.get("upload.gc.reclaimed").counter().count()).isEqualTo(13.0);
+        verify(fileBlobRepository).deleteByFileName(HASH + ".png");
+        verify(fileRefRepository).deleteByFileName(HASH + ".png");
+    }
+
+    @Test
+    @DisplayName("게시글 이미지 URL 에서 업로드 파일명만 추출")
+    void fileNameOf() {
+        assertThat(OrphanUploadCollector.fileNameOf("http://host/api/files/a.png")).isEqualTo("a.png");
+        assertThat(OrphanUploadCollector.fileNameOf("/api/files/a.png?w=320")).isEqualTo("a.png");
+        assertThat(OrphanUploadCollector.fileNameOf("https://cdn.example.com/a.png")).isNull();
+    }
+
+    private Path write(String fileName, String content) throws Exception {
+        Path path = fileStorageService.resolve(fileName);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private static Path old(Path path) throws Exception {
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(3))));
+        return path;
+    }
+}
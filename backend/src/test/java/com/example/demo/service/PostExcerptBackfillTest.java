@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PostRequestDto;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.Excerpts;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"post.excerpt-length=10", "post.excerpt-backfill.batch-size=1"})
+class PostExcerptBackfillTest {
+
+    private static final String LONG_CONTENT = "  첫 줄\n\n   둘째   줄이 길게 이어지는 본문  ";
+
+    @Autowired
+    private PostExcerptBackfill postExcerptBackfill;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userService.register(UserRequestDto.builder()
+                .userId("writer")
+                .password("password123")
+                .name("작성자")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("excerpt 가 없는 게시글을 배치로 나눠 저장 시점과 같은 규칙(Excerpts.of)으로 채움")
+    void backfillWithExcerptsOf() {
+        // given
+        Long longPost = postService.createPost("writer", new PostRequestDto("긴 글", LONG_CONTENT, null));
+        Long shortPost = postService.createPost("writer", new PostRequestDto("짧은 글", " 짧은  글 ", null));
+        clearExcerpts();
+
+        // when
+        long filled = postExcerptBackfill.backfill();
+
+        // then
+        assertThat(filled).isEqualTo(2);
+        assertThat(postRepository.findById(longPost).orElseThrow().getExcerpt())
+                .isEqualTo(Excerpts.of(LONG_CONTENT, 10))
+                .endsWith("…");
+        assertThat(postRepository.findById(shortPost).orElseThrow().getExcerpt()).isEqualTo("짧은 글");
+        assertThat(postRepository.existsByExcerptIsNull()).isFalse();
+    }
+
+    @Test
+    @DisplayName("채울 게시글이 없으면 아무것도 바꾸지 않음")
+    void nothingToBackfill() {
+        // given
+        postService.createPost("writer", new PostRequestDto("제목", "내용", null));
+
+        // when & then
+        assertThat(postRepository.existsByExcerptIsNull()).isFalse();
+        assertThat(postExcerptBackfill.backfill()).isZero();
+    }
+
+    private void clearExcerpts() {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.createQuery("update Post p set p.excerpt = null").executeUpdate());
+    }
+}
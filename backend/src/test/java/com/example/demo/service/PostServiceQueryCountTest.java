@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PostRequestDto;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PostServiceQueryCountTest {
+
+    private static final int POST_COUNT = 10;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        // 게시글마다 작성자를 다르게 해서 N+1 이 있으면 쿼리 수가 페이지 크기만큼 늘어나게 한다.
+        for (int i = 0; i < POST_COUNT; i++) {
+            String userId = "author" + i;
+            userService.register(UserRequestDto.builder()
+                    .userId(userId)
+                    .password("password123")
+                    .name("작성자" + i)
+                    .build());
+            postService.createPost(userId, new PostRequestDto("제목" + i, "내용" + i, null));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("페이지 목록 조회 쿼리 수는 페이지 크기와 무관")
+    void getAllPostsStatementCountIsConstant() {
+        long small = statementsFor(() -> postService.getAllPosts(PageRequest.of(0, 3)));
+        long large = statementsFor(() -> postService.getAllPosts(PageRequest.of(0, 8)));
+
+        // 목록 + COUNT
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("커서 피드 조회 쿼리 수는 페이지 크기와 무관")
+    void getFeedStatementCountIsConstant() {
+        long small = statementsFor(() -> postService.getFeed(null, 3));
+        long large = statementsFor(() -> postService.getFeed(null, 8));
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("게시글 상세 조회는 작성자까지 한 번의 쿼리로 조회")
+    void getPostUsesSingleStatement() {
+        Long postId = postService.getAllPosts(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        long statements = statementsFor(() -> postService.getPost(postId));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시된 게시글 상세 재조회는 쿼리를 실행하지 않음")
+    void cachedGetPostUsesNoStatement() {
+        Long postId = postService.getAllPosts(PageRequest.of(0, 1)).getContent().get(0).getId();
+        postService.getPost(postId);
+
+        long statements = statementsFor(() -> postService.getPost(postId));
+
+        assertThat(statements).isZero();
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
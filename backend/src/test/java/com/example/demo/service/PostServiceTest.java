@@ -1,26 +1,38 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.FeedPageCache;
+import com.example.demo.cache.PostDetailCache;
 import com.example.demo.domain.Post;
 import com.example.demo.domain.User;
+import com.example.demo.dto.CursorSliceDto;
 import com.example.demo.dto.PostRequestDto;
 import com.example.demo.dto.PostResponseDto;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.FeedCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +44,12 @@ class PostServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FeedPageCache feedPageCache;
+
+    @Spy
+    private PostDetailCache postDetailCache = new PostDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
     @InjectMocks
     private PostService postService;
 
@@ -71,13 +89,31 @@ class PostServiceTest {
         assertThat(postId).isEqualTo(1L);
         verify(postRepository).save(any(Post.class));
         verify(userRepository).findByUserId("testuser");
+        verify(feedPageCache).invalidateAfterCommit();
+    }
+
+    @Test
+    @DisplayName("게시글 생성 시 요약(excerpt) 저장")
+    void createPostStoresExcerpt() {
+        // given
+        String content = "가".repeat(200);
+        given(userRepository.findByUserId("testuser")).willReturn(Optional.of(user));
+        given(postRepository.save(any(Post.class))).willReturn(post);
+
+        // when
+        postService.createPost("testuser", new PostRequestDto("Title", content, null));
+
+        // then
+        ArgumentCaptor<Post> captor = ArgumentCaptor.forClass(Post.class);
+        verify(postRepository).save(captor.capture());
+        assertThat(captor.getValue().getExcerpt()).isEqualTo("가".repeat(150) + "…");
     }
 
     @Test
     @DisplayName("게시글 조회 테스트")
     void getPost() {
         // given
-        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+        given(postRepository.findWithUserById(1L)).willReturn(Optional.of(post));
 
         // when
         PostResponseDto responseDto = postService.getPost(1L);
@@ -86,7 +122,25 @@ class PostServiceTest {
         assertThat(responseDto.getTitle()).isEqualTo("Test Title");
         assertThat(responseDto.getContent()).isEqualTo("Test Content");
         assertThat(responseDto.getAuthorName()).isEqualTo("Test User");
-        verify(postRepository).findById(1L);
+        verify(postRepository).findWithUserById(1L);
+    }
+
+    @Test
+    @DisplayName("게시글 상세는 캐시되고 수정 시 무효화됨")
+    void getPostIsCachedUntilUpdate() {
+        // given
+        given(postRepository.findWithUserById(1L)).willReturn(Optional.of(post));
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+
+        // when
+        postService.getPost(1L);
+        postService.getPost(1L);
+        postService.updatePost("testuser", 1L, new PostRequestDto("Updated Title", "Updated Content", null));
+        PostResponseDto afterUpdate = postService.getPost(1L);
+
+        // then
+        assertThat(afterUpdate.getTitle()).isEqualTo("Updated Title");
+        verify(postRepository, times(2)).findWithUserById(1L);
     }
 
     @Test
@@ -128,4 +182,55 @@ class PostServiceTest {
         // then
         verify(postRepository).delete(post);
     }
+
+    @Test
+    @DisplayName("피드 페이지 크기는 1 ~ 최대 크기로 맞춤")
+    void clampFeedSize() {
+        assertThat(PostService.clampFeedSize(10_000)).isEqualTo(50);
+        assertThat(PostService.clampFeedSize(0)).isEqualTo(1);
+        assertThat(PostService.clampFeedSize(20)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("커서 피드 첫 페이지 - 다음 페이지 커서 반환")
+    void getFeedFirstPage() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        Post newer = Post.builder().id(3L).title("3").content("c").user(user).createdAt(now).build();
+        Post middle = Post.builder().id(2L).title("2").content("c").user(user).createdAt(now.minusMinutes(1)).build();
+        Post older = Post.builder().id(1L).title("1").content("c").user(user).createdAt(now.minusMinutes(2)).build();
+        given(postRepository.findAllByOrderByCreatedAtDescIdDesc(any(Limit.class)))
+                .willReturn(List.of(newer, middle, older));
+
+        // when
+        CursorSliceDto<PostResponseDto> slice = postService.getFeed(null, 2);
+
+        // then
+        assertThat(slice.getContent()).extracting("id").containsExactly(3L, 2L);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(FeedCursor.decode(slice.getNextCursor())).isEqualTo(new FeedCursor(middle.getCreatedAt(), 2L));
+    }
+
+    @Test
+    @DisplayName("커서 피드 다음 페이지 - 커서 이후부터 seek, 마지막 페이지면 커서 없음")
+    void getFeedAfterCursor() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.now();
+        String cursor = new FeedCursor(createdAt, 2L).encode();
+        given(postRepository.findFeedAfter(eq(createdAt), eq(2L), any(Limit.class))).willReturn(List.of(post));
+
+        // when
+        CursorSliceDto<PostResponseDto> slice = postService.getFeed(cursor, 2);
+
+        // then
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 IllegalArgumentException")
+    void getFeedWithInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> postService.getFeed("not-a-cursor", 10));
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import com.example.demo.auth.JwtUtil;
+import com.example.demo.dto.UserRequestDto;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, passwordEncoder, jwtUtil, passwordHashingService,
+                transactionTemplate, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("해싱하는 동안 같은 userId 가 먼저 가입되면 유니크 제약 위반을 중복 사용자 오류로 바꿈")
+    void registerAsyncConcurrentDuplicate() {
+        // given
+        UserRequestDto requestDto = UserRequestDto.builder()
+                .userId("testuser")
+                .password("password123")
+                .name("테스트유저")
+                .build();
+        given(userRepository.existsByUserId("testuser")).willReturn(false);
+        given(passwordHashingService.encode("password123")).willReturn(CompletableFuture.completedFuture("hashed"));
+        given(transactionTemplate.execute(any())).willThrow(new DataIntegrityViolationException("duplicate user_id"));
+
+        // when
+        CompletableFuture<?> future = userService.registerAsync(requestDto);
+
+        // then
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("이미 존재하는 사용자입니다.");
+        verify(jwtUtil, never()).generateToken(any());
+    }
+}
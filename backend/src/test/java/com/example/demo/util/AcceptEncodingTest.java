@@ -0,0 +1,22 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @Test
+    @DisplayName("gzip 과 deflate 중 q 값이 높은 쪽을 고르고, 같으면 gzip")
+    void negotiate() {
+        assertThat(AcceptEncoding.negotiate("gzip, deflate, br")).isEqualTo(AcceptEncoding.GZIP);
+        assertThat(AcceptEncoding.negotiate("deflate")).isEqualTo(AcceptEncoding.DEFLATE);
+        assertThat(AcceptEncoding.negotiate("gzip;q=0.5, deflate;q=0.9")).isEqualTo(AcceptEncoding.DEFLATE);
+        assertThat(AcceptEncoding.negotiate("x-gzip;q=0.9, deflate;q=0.9")).isEqualTo(AcceptEncoding.GZIP);
+        assertThat(AcceptEncoding.negotiate("gzip;q=0, *")).isEqualTo(AcceptEncoding.DEFLATE);
+        assertThat(AcceptEncoding.negotiate("*")).isEqualTo(AcceptEncoding.GZIP);
+        assertThat(AcceptEncoding.negotiate("br, identity")).isNull();
+        assertThat(AcceptEncoding.negotiate(null)).isNull();
+    }
+}